@@ -0,0 +1,52 @@
+package carsharingapp.benchmark;
+
+import carsharingapp.model.Car;
+import carsharingapp.model.Rental;
+import carsharingapp.model.Role;
+import carsharingapp.model.User;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+final class BenchmarkFixtures {
+    private static final LocalDate RENTAL_DATE = LocalDate.of(2025, 1, 6);
+
+    private BenchmarkFixtures() {
+    }
+
+    static Car car(long id) {
+        return new Car()
+                .setId(id)
+                .setBrand("Toyota")
+                .setModel("Corolla")
+                .setType(Car.Type.SEDAN)
+                .setInventory(5)
+                .setDailyFee(new BigDecimal("49.90"))
+                .setLatitude(50.4501)
+                .setLongitude(30.5234);
+    }
+
+    static User user(long id) {
+        Role role = new Role();
+        role.setId(2L);
+        role.setName(Role.RoleName.ROLE_CUSTOMER);
+        return new User()
+                .setId(id)
+                .setEmail("user" + id + "@example.com")
+                .setFirstName("Bob")
+                .setLastName("Smith")
+                .setTelegramChatId(100_000L + id)
+                .setRoles(Set.of(role));
+    }
+
+    static Rental rental(long id, Car car, User user, int days, int overdueDays) {
+        LocalDate returnDate = RENTAL_DATE.plusDays(days);
+        return new Rental()
+                .setId(id)
+                .setRentalDate(RENTAL_DATE)
+                .setReturnDate(returnDate)
+                .setActualReturnDate(returnDate.plusDays(overdueDays))
+                .setCar(car)
+                .setUser(user);
+    }
+}
@@ -0,0 +1,100 @@
+package carsharingapp.benchmark;
+
+import carsharingapp.model.Car;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(16)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class InventoryReservationBenchmark {
+    private static final int INVENTORY = Integer.MAX_VALUE;
+    private static final int POOL_SIZE = 16;
+    private static final String DECREMENT_SQL = "UPDATE cars SET inventory = inventory - 1 "
+            + "WHERE id = :carId AND inventory > 0 AND is_deleted = false";
+
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private Long carId;
+
+    @Setup(Level.Trial)
+    public void open() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getProperty("benchmark.jdbc.url",
+                "jdbc:mysql://localhost:3306/carsharing_benchmark?createDatabaseIfNotExist=true"));
+        dataSource.setUsername(System.getProperty("benchmark.jdbc.user", "root"));
+        dataSource.setPassword(System.getProperty("benchmark.jdbc.password", "root"));
+        dataSource.setMaximumPoolSize(POOL_SIZE);
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(Car.class)
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop");
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        sessionFactory = configuration.buildSessionFactory();
+        Car car = new Car()
+                .setBrand("Toyota")
+                .setModel("Corolla")
+                .setType(Car.Type.SEDAN)
+                .setInventory(INVENTORY)
+                .setDailyFee(new BigDecimal("49.90"));
+        sessionFactory.inTransaction(session -> session.persist(car));
+        carId = car.getId();
+    }
+
+    @Setup(Level.Iteration)
+    public void restock() {
+        sessionFactory.inTransaction(session -> session
+                .createMutationQuery(
+                        "UPDATE Car c SET c.inventory = :inventory WHERE c.id = :carId")
+                .setParameter("inventory", INVENTORY)
+                .setParameter("carId", carId)
+                .executeUpdate());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int conditionalUpdate() {
+        return sessionFactory.fromTransaction(session -> session
+                .createNativeMutationQuery(DECREMENT_SQL)
+                .setParameter("carId", carId)
+                .executeUpdate());
+    }
+
+    @Benchmark
+    public int lockedReadModifyWrite() {
+        return sessionFactory.fromTransaction(session -> {
+            Car car = session.find(Car.class, carId, LockModeType.PESSIMISTIC_WRITE);
+            if (car.getInventory() == 0) {
+                return 0;
+            }
+            car.setInventory(car.getInventory() - 1);
+            return 1;
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package carsharingapp.benchmark;
+
+import carsharingapp.model.Role;
+import carsharingapp.model.User;
+import carsharingapp.security.AuthenticatedUser;
+import carsharingapp.security.JwtUtil;
+import carsharingapp.security.UserSnapshot;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtVerificationBenchmark {
+    private static final String SECRET = "secretForBenchmarks_12345678901234567890";
+    private static final long EXPIRATION = 3_600_000;
+
+    private SecretKey key;
+    private JwtUtil jwtUtil;
+    private String token;
+    private UserSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtUtil = new JwtUtil(SECRET, EXPIRATION);
+        Role role = new Role();
+        role.setName(Role.RoleName.ROLE_CUSTOMER);
+        User user = new User()
+                .setId(2L)
+                .setEmail("bob@example.com")
+                .setRoles(Set.of(role));
+        snapshot = UserSnapshot.from(user);
+        token = jwtUtil.generateToken(snapshot);
+    }
+
+    @Benchmark
+    public void perCallParsers(Blackhole blackhole) {
+        Claims filterValidation = parseWithNewParser(token);
+        blackhole.consume(filterValidation.getExpiration().before(new Date()));
+        blackhole.consume(parseWithNewParser(token).getSubject());
+        blackhole.consume(parseWithNewParser(token).getSubject());
+    }
+
+    @Benchmark
+    public void sharedParserSingleParse(Blackhole blackhole) {
+        Claims claims = jwtUtil.parseClaims(token);
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(claims.getSubject());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(snapshot);
+    }
+
+    @Benchmark
+    public AuthenticatedUser verifyToken() {
+        return jwtUtil.toPrincipal(jwtUtil.parseClaims(token));
+    }
+
+    private Claims parseWithNewParser(String jwt) {
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+}
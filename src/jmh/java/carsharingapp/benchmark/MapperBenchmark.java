@@ -0,0 +1,65 @@
+package carsharingapp.benchmark;
+
+import carsharingapp.dto.CarResponseDto;
+import carsharingapp.dto.RentalResponseDto;
+import carsharingapp.dto.UserResponseDto;
+import carsharingapp.mapper.CarMapper;
+import carsharingapp.mapper.RentalMapper;
+import carsharingapp.mapper.UserMapper;
+import carsharingapp.mapper.impl.CarMapperImpl;
+import carsharingapp.mapper.impl.RentalMapperImpl;
+import carsharingapp.mapper.impl.UserMapperImpl;
+import carsharingapp.model.Car;
+import carsharingapp.model.Rental;
+import carsharingapp.model.User;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+    private CarMapper carMapper;
+    private RentalMapper rentalMapper;
+    private UserMapper userMapper;
+    private Car car;
+    private User user;
+    private Rental rental;
+
+    @Setup
+    public void setUp() {
+        carMapper = new CarMapperImpl();
+        rentalMapper = new RentalMapperImpl(carMapper);
+        userMapper = new UserMapperImpl();
+        car = BenchmarkFixtures.car(1L);
+        user = BenchmarkFixtures.user(2L);
+        rental = BenchmarkFixtures.rental(3L, car, user, 3, 0);
+    }
+
+    @Benchmark
+    public CarResponseDto carToDto() {
+        return carMapper.toDto(car);
+    }
+
+    @Benchmark
+    public RentalResponseDto rentalToDto() {
+        return rentalMapper.toDto(rental);
+    }
+
+    @Benchmark
+    public UserResponseDto userToDto() {
+        return userMapper.toDto(user);
+    }
+}
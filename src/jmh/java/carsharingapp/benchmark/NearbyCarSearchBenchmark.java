@@ -0,0 +1,101 @@
+package carsharingapp.benchmark;
+
+import carsharingapp.model.Car;
+import carsharingapp.service.impl.GeoGridIndex;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NearbyCarSearchBenchmark {
+    private static final double CENTER_LATITUDE = 50.45;
+    private static final double CENTER_LONGITUDE = 30.52;
+    private static final double SPREAD_DEGREES = 0.5;
+    private static final double RADIUS_METERS = 2_000;
+    private static final int LIMIT = 10;
+    private static final int QUERY_COUNT = 1024;
+
+    @Param("100000")
+    private int positionCount;
+
+    private GeoGridIndex<Car.Type> index;
+    private double[] latitudes;
+    private double[] longitudes;
+    private Car.Type[] types;
+    private double[] queries;
+    private int nextQuery;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Car.Type[] allTypes = Car.Type.values();
+        index = new GeoGridIndex<>(0.01);
+        latitudes = new double[positionCount];
+        longitudes = new double[positionCount];
+        types = new Car.Type[positionCount];
+        for (int i = 0; i < positionCount; i++) {
+            latitudes[i] = CENTER_LATITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            longitudes[i] = CENTER_LONGITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            types[i] = allTypes[random.nextInt(allTypes.length)];
+            index.put(i, latitudes[i], longitudes[i], types[i]);
+        }
+        queries = new double[QUERY_COUNT * 2];
+        for (int i = 0; i < queries.length; i += 2) {
+            queries[i] = CENTER_LATITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            queries[i + 1] = CENTER_LONGITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+        }
+    }
+
+    @Benchmark
+    public List<GeoGridIndex.Neighbor<Car.Type>> gridIndex() {
+        int query = nextQueryOffset();
+        return index.nearest(queries[query], queries[query + 1], RADIUS_METERS, LIMIT,
+                type -> type == Car.Type.SEDAN);
+    }
+
+    @Benchmark
+    public PriorityQueue<double[]> linearScan() {
+        int query = nextQueryOffset();
+        PriorityQueue<double[]> best = new PriorityQueue<>(
+                (left, right) -> Double.compare(right[1], left[1]));
+        for (int i = 0; i < positionCount; i++) {
+            if (types[i] != Car.Type.SEDAN) {
+                continue;
+            }
+            double distance = GeoGridIndex.distanceMeters(queries[query], queries[query + 1],
+                    latitudes[i], longitudes[i]);
+            if (distance > RADIUS_METERS) {
+                continue;
+            }
+            if (best.size() < LIMIT) {
+                best.add(new double[] {i, distance});
+            } else if (distance < best.peek()[1]) {
+                best.poll();
+                best.add(new double[] {i, distance});
+            }
+        }
+        return best;
+    }
+
+    private int nextQueryOffset() {
+        nextQuery = (nextQuery + 2) % queries.length;
+        return nextQuery;
+    }
+}
@@ -0,0 +1,168 @@
+package carsharingapp.benchmark;
+
+import carsharingapp.model.Car;
+import carsharingapp.model.Rental;
+import carsharingapp.model.Role;
+import carsharingapp.model.User;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class RentalInsertBenchmark {
+    private static final int RENTAL_COUNT = 100_000;
+    private static final int FLUSH_INTERVAL = 50;
+    private static final LocalDate RENTAL_DATE = LocalDate.of(2025, 1, 1);
+
+    // "identity" is the mapping rentals had before the id_generators table, kept as the baseline
+    @Param({"identity", "table"})
+    private String idMapping;
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private SessionFactory sessionFactory;
+    private Long carId;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void open() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Car.class)
+                .addAnnotatedClass(Role.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Rental.class)
+                .addAnnotatedClass(IdentityRental.class)
+                .setProperty("hibernate.connection.url", System.getProperty("benchmark.jdbc.url",
+                        "jdbc:mysql://localhost:3306/carsharing_benchmark"
+                                + "?createDatabaseIfNotExist=true&rewriteBatchedStatements=true"))
+                .setProperty("hibernate.connection.username",
+                        System.getProperty("benchmark.jdbc.user", "root"))
+                .setProperty("hibernate.connection.password",
+                        System.getProperty("benchmark.jdbc.password", "root"))
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize))
+                .setProperty("hibernate.order_inserts", "true")
+                .buildSessionFactory();
+        Car car = new Car()
+                .setBrand("Toyota")
+                .setModel("Corolla")
+                .setType(Car.Type.SEDAN)
+                .setInventory(RENTAL_COUNT)
+                .setDailyFee(new BigDecimal("49.90"));
+        User user = new User()
+                .setEmail("bob@example.com")
+                .setFirstName("Bob")
+                .setLastName("Smith")
+                .setPassword("password");
+        sessionFactory.inTransaction(session -> {
+            session.persist(car);
+            session.persist(user);
+        });
+        carId = car.getId();
+        userId = user.getId();
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("DELETE FROM Rental").executeUpdate();
+            session.createMutationQuery("DELETE FROM IdentityRental").executeUpdate();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public long persistRentals() {
+        return sessionFactory.fromTransaction(session -> {
+            long lastId = 0;
+            for (int i = 0; i < RENTAL_COUNT; i++) {
+                LocalDate rentalDate = RENTAL_DATE.plusDays(i % 365);
+                Car car = session.getReference(Car.class, carId);
+                User user = session.getReference(User.class, userId);
+                if ("identity".equals(idMapping)) {
+                    IdentityRental rental = new IdentityRental(rentalDate, car, user);
+                    session.persist(rental);
+                    lastId = rental.id;
+                } else {
+                    Rental rental = new Rental()
+                            .setRentalDate(rentalDate)
+                            .setReturnDate(rentalDate.plusDays(3))
+                            .setActualReturnDate(rentalDate.plusDays(2))
+                            .setCar(car)
+                            .setUser(user);
+                    session.persist(rental);
+                    lastId = rental.getId();
+                }
+                if ((i + 1) % FLUSH_INTERVAL == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            return lastId;
+        });
+    }
+
+    @Entity
+    @Table(name = "identity_rentals")
+    public static class IdentityRental {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        @Column(nullable = false)
+        private LocalDate rentalDate;
+        @Column(nullable = false)
+        private LocalDate returnDate;
+        private LocalDate actualReturnDate;
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "car_id", nullable = false)
+        private Car car;
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "user_id", nullable = false)
+        private User user;
+
+        protected IdentityRental() {
+        }
+
+        IdentityRental(LocalDate rentalDate, Car car, User user) {
+            this.rentalDate = rentalDate;
+            this.returnDate = rentalDate.plusDays(3);
+            this.actualReturnDate = rentalDate.plusDays(2);
+            this.car = car;
+            this.user = user;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package carsharingapp.benchmark;
+
+import carsharingapp.dto.RentalResponseDto;
+import carsharingapp.mapper.RentalMapper;
+import carsharingapp.mapper.impl.CarMapperImpl;
+import carsharingapp.mapper.impl.RentalMapperImpl;
+import carsharingapp.model.Car;
+import carsharingapp.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RentalJsonBenchmark {
+    @Param("20")
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private List<RentalResponseDto> rentals;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build()
+                .writerFor(TypeFactory.defaultInstance()
+                        .constructCollectionType(List.class, RentalResponseDto.class));
+        RentalMapper rentalMapper = new RentalMapperImpl(new CarMapperImpl());
+        User user = BenchmarkFixtures.user(2L);
+        rentals = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Car car = BenchmarkFixtures.car(i + 1L);
+            rentals.add(rentalMapper.toDto(BenchmarkFixtures.rental(i + 1L, car, user, 3, 0)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeRentalPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(rentals);
+    }
+}
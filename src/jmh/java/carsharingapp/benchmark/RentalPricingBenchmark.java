@@ -0,0 +1,47 @@
+package carsharingapp.benchmark;
+
+import carsharingapp.model.Car;
+import carsharingapp.model.Rental;
+import carsharingapp.model.User;
+import carsharingapp.service.impl.RentalPricing;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RentalPricingBenchmark {
+    private Rental onTimeRental;
+    private Rental lateRental;
+
+    @Setup
+    public void setUp() {
+        Car car = BenchmarkFixtures.car(1L);
+        User user = BenchmarkFixtures.user(2L);
+        onTimeRental = BenchmarkFixtures.rental(3L, car, user, 5, 0);
+        lateRental = BenchmarkFixtures.rental(4L, car, user, 5, 2);
+    }
+
+    @Benchmark
+    public BigDecimal onTime() {
+        return RentalPricing.amountToPay(onTimeRental);
+    }
+
+    @Benchmark
+    public BigDecimal closedLate() {
+        return RentalPricing.amountToPay(lateRental);
+    }
+}
@@ -0,0 +1,89 @@
+package carsharingapp.benchmark;
+
+import carsharingapp.service.impl.TripLogStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TripLogStoreBenchmark {
+    private static final int RENTAL_COUNT = 1_000;
+    private static final int REPLAY_SAMPLES = 10_000;
+    private static final long START_MILLIS = 1_735_732_800_000L;
+
+    @Param("20")
+    private int samplesPerAppend;
+
+    private Path directory;
+    private TripLogStore store;
+    private List<TripLogStore.Sample> batch;
+    private long nextRentalId;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("trip-log-benchmark");
+        store = new TripLogStore(directory.toString(), 64 * 1024 * 1024);
+        store.open();
+        batch = samples(samplesPerAppend);
+        List<TripLogStore.Sample> trip = samples(REPLAY_SAMPLES);
+        for (int i = 0; i < REPLAY_SAMPLES; i += samplesPerAppend) {
+            store.append(0L, trip.subList(i, Math.min(i + samplesPerAppend, REPLAY_SAMPLES)));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void append() {
+        nextRentalId = nextRentalId % RENTAL_COUNT + 1;
+        store.append(nextRentalId, batch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REPLAY_SAMPLES)
+    public int replay(Blackhole blackhole) {
+        return store.replay(0L, blackhole::consume);
+    }
+
+    private static List<TripLogStore.Sample> samples(int count) {
+        List<TripLogStore.Sample> samples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            samples.add(new TripLogStore.Sample(START_MILLIS + i * 5_000L,
+                    50_450_000 + i * 37, 30_520_000 - i * 21));
+        }
+        return samples;
+    }
+}
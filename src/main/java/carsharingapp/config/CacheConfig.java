@@ -0,0 +1,37 @@
+package carsharingapp.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching(proxyTargetClass = true)
+public class CacheConfig {
+    public static final String USER_DETAILS_CACHE = "userDetails";
+    public static final String CARS_CACHE = "cars";
+    public static final String CAR_PAGES_CACHE = "carPages";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.user-details.spec:maximumSize=10000,expireAfterWrite=10m}")
+            String userDetailsSpec,
+            @Value("${cache.cars.spec:maximumSize=10000,expireAfterWrite=5m}")
+            String carsSpec,
+            @Value("${cache.car-pages.spec:maximumSize=1000,expireAfterWrite=1m}")
+            String carPagesSpec
+    ) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USER_DETAILS_CACHE,
+                Caffeine.from(userDetailsSpec).recordStats().build());
+        cacheManager.registerCustomCache(CARS_CACHE,
+                Caffeine.from(carsSpec).recordStats().build());
+        cacheManager.registerCustomCache(CAR_PAGES_CACHE,
+                Caffeine.from(carPagesSpec).recordStats().build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
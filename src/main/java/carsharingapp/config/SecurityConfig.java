@@ -21,12 +21,14 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 @EnableMethodSecurity
 public class SecurityConfig {
+    public static final int BCRYPT_STRENGTH = 10;
+
     private final UserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
     public PasswordEncoder getPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(BCRYPT_STRENGTH);
     }
 
     @Bean
@@ -36,11 +38,14 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                .authorizeHttpRequests(
                         auth -> auth
+                                .requestMatchers("/actuator/prometheus")
+                                .hasRole("MANAGER")
                                 .requestMatchers(
                                         "auth/**",
                                         "/cars/**",
                                         "/swagger-ui/**",
                                         "/v3/api-docs/**",
+                                        "/actuator/health",
                                         "/error")
                                 .permitAll()
                                 .anyRequest()
@@ -2,15 +2,21 @@ package carsharingapp.controller;
 
 import carsharingapp.dto.CarRequestDto;
 import carsharingapp.dto.CarResponseDto;
+import carsharingapp.dto.CarScrollResponseDto;
+import carsharingapp.dto.NearbyCarResponseDto;
 import carsharingapp.service.CarService;
+import carsharingapp.service.impl.CarChangeStreamHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,8 +25,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/cars")
@@ -29,6 +37,7 @@ import org.springframework.web.bind.annotation.RestController;
 @SecurityRequirement(name = "bearerAuth")
 public class CarController {
     private final CarService carService;
+    private final CarChangeStreamHub carChangeStreamHub;
 
     @PostMapping
     @PreAuthorize("hasRole('ROLE_MANAGER')")
@@ -46,6 +55,47 @@ public class CarController {
         return carService.getAllCars(pageable);
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll through cars",
+            description = "Get the next slice of cars after the given cursor")
+    public CarScrollResponseDto scrollCars(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return carService.scrollCars(cursor, size);
+    }
+
+    @GetMapping("/available")
+    @Operation(summary = "Get cars available for a date range",
+            description = "Get cars with a free unit on every day from 'from' until 'to'")
+    public List<CarResponseDto> getAvailableCars(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String type
+    ) {
+        return carService.getAvailableCars(from, to, type);
+    }
+
+    @GetMapping("/nearby")
+    @Operation(summary = "Get the nearest available cars",
+            description = "Get the nearest cars with a free unit within the radius in meters")
+    public List<NearbyCarResponseDto> getNearbyCars(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "2000") double radius,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return carService.getNearbyCars(lat, lon, radius, type, limit);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream car changes",
+            description = "Server-sent events with the inventory and daily fee of changed cars")
+    public SseEmitter streamCarChanges() {
+        return carChangeStreamHub.subscribe();
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get car's detailed information",
             description = "Get car's detailed information")
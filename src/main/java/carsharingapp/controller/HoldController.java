@@ -0,0 +1,46 @@
+package carsharingapp.controller;
+
+import carsharingapp.dto.HoldRequestDto;
+import carsharingapp.dto.HoldResponseDto;
+import carsharingapp.service.HoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/holds")
+@RequiredArgsConstructor
+@Tag(name = "Hold management", description = "Endpoints for holding a car before renting it")
+@SecurityRequirement(name = "bearerAuth")
+public class HoldController {
+    private final HoldService holdService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasRole('ROLE_CUSTOMER')")
+    @Operation(summary = "Hold a car",
+            description = "Hold one unit of a car for a short time; pass the hold id when "
+                    + "creating the rental")
+    public HoldResponseDto createHold(@RequestBody @Valid HoldRequestDto requestDto) {
+        return holdService.createHold(requestDto);
+    }
+
+    @DeleteMapping("/{holdId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasRole('ROLE_CUSTOMER')")
+    @Operation(summary = "Cancel a hold", description = "Release the held unit of a car")
+    public void cancelHold(@PathVariable Long holdId) {
+        holdService.cancelHold(holdId);
+    }
+}
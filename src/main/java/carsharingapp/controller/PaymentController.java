@@ -2,6 +2,7 @@ package carsharingapp.controller;
 
 import carsharingapp.dto.PaymentRequestDto;
 import carsharingapp.dto.PaymentResponseDto;
+import carsharingapp.service.IdempotencyService;
 import carsharingapp.service.impl.PaymentServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -25,16 +27,22 @@ import org.springframework.web.util.UriComponentsBuilder;
 @SecurityRequirement(name = "bearerAuth")
 public class PaymentController {
     private final PaymentServiceImpl paymentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @PreAuthorize("hasRole('ROLE_CUSTOMER')")
     @Operation(summary = "Create a new payment session",
-            description = "Create a new payment session"
+            description = "Create a new payment session; retries with the same "
+                    + "Idempotency-Key header return the first session instead of a new one"
     )
     public PaymentResponseDto createPayment(
-            @RequestBody @Valid PaymentRequestDto requestDto, UriComponentsBuilder uriBuilder
+            @RequestBody @Valid PaymentRequestDto requestDto, UriComponentsBuilder uriBuilder,
+            @RequestHeader(name = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false)
+            String idempotencyKey
     ) {
-        return paymentService.createPayment(requestDto, uriBuilder);
+        return idempotencyService.execute("payments.create", idempotencyKey, requestDto,
+                PaymentResponseDto.class,
+                () -> paymentService.createPayment(requestDto, uriBuilder));
     }
 
     @GetMapping("/{userId}")
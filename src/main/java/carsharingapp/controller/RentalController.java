@@ -2,13 +2,19 @@ package carsharingapp.controller;
 
 import carsharingapp.dto.RentalRequestDto;
 import carsharingapp.dto.RentalResponseDto;
+import carsharingapp.dto.RentalSearchParametersDto;
+import carsharingapp.dto.TripPointDto;
+import carsharingapp.service.IdempotencyService;
 import carsharingapp.service.RentalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,6 +22,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -28,27 +35,41 @@ import org.springframework.web.bind.annotation.RestController;
 @SecurityRequirement(name = "bearerAuth")
 public class RentalController {
     private final RentalService rentalService;
+    private final IdempotencyService idempotencyService;
 
     @ResponseStatus(HttpStatus.CREATED)
     @PreAuthorize("hasRole('ROLE_MANAGER')")
-    @Operation(summary = "Add a new rental", description = "Add a new rental")
+    @Operation(summary = "Add a new rental",
+            description = "Add a new rental; retries with the same Idempotency-Key header "
+                    + "return the first response instead of creating another rental")
     @PostMapping()
     public RentalResponseDto addRental(
-            @RequestBody @Valid RentalRequestDto requestDto
+            @RequestBody @Valid RentalRequestDto requestDto,
+            @RequestHeader(name = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false)
+            String idempotencyKey
     ) {
-        return rentalService.save(requestDto);
+        return idempotencyService.execute("rentals.create", idempotencyKey, requestDto,
+                RentalResponseDto.class, () -> rentalService.save(requestDto));
     }
 
     @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasRole('ROLE_MANAGER')")
     @GetMapping
     @Operation(summary = "Get rentals by user ID and whether the rental is still active or not",
-            description = "Get rentals by user ID and whether the rental is still active or not")
+            description = "Get a page of rentals filtered by user ID, rental state, car ID "
+                    + "and rental date range")
     public List<RentalResponseDto> getRentalsByUserId(
             @RequestParam(required = false) Long userId,
-            @RequestParam(required = false) Boolean isActive
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) Long carId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Pageable pageable
     ) {
-        return rentalService.getRentalsByUserId(userId, isActive);
+        return rentalService.search(
+                new RentalSearchParametersDto(userId, isActive, carId, from, to), pageable);
     }
 
     @ResponseStatus(HttpStatus.OK)
@@ -62,6 +83,17 @@ public class RentalController {
         return rentalService.getRentalById(rentalId);
     }
 
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ROLE_MANAGER')")
+    @GetMapping("/{rentalId}/trip")
+    @Operation(summary = "Replay the trip of a rental",
+            description = "Get the recorded GPS positions of a rental in the order they were taken")
+    public List<TripPointDto> getTrip(
+            @PathVariable Long rentalId
+    ) {
+        return rentalService.getTrip(rentalId);
+    }
+
     @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasRole('ROLE_MANAGER')")
     @PutMapping("/{rentalId}/return")
@@ -0,0 +1,38 @@
+package carsharingapp.controller;
+
+import carsharingapp.dto.TelemetryBatchRequestDto;
+import carsharingapp.dto.TelemetryIngestResponseDto;
+import carsharingapp.service.TelemetryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/telemetry")
+@RequiredArgsConstructor
+@Tag(name = "Telemetry", description = "Endpoints for vehicle telemetry ingest")
+@SecurityRequirement(name = "bearerAuth")
+public class TelemetryController {
+    private final TelemetryService telemetryService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PreAuthorize("hasRole('ROLE_MANAGER')")
+    @Operation(summary = "Report a batch of telemetry readings",
+            description = "Buffer GPS position, odometer and fuel level readings for writing; "
+                    + "responds with 503 when the buffer is full")
+    public TelemetryIngestResponseDto ingest(
+            @RequestBody @Valid TelemetryBatchRequestDto requestDto
+    ) {
+        return telemetryService.ingest(requestDto);
+    }
+}
@@ -0,0 +1,43 @@
+package carsharingapp.controller;
+
+import carsharingapp.dto.WaitlistResponseDto;
+import carsharingapp.service.WaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/waitlist")
+@RequiredArgsConstructor
+@Tag(name = "Waitlist management", description = "Endpoints for waiting for a sold-out car")
+@SecurityRequirement(name = "bearerAuth")
+public class WaitlistController {
+    private final WaitlistService waitlistService;
+
+    @PostMapping("/{carId}")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasRole('ROLE_CUSTOMER')")
+    @Operation(summary = "Join the waitlist of a car",
+            description = "Wait for a free unit of a car; the next free unit is held for the "
+                    + "first user in the queue")
+    public WaitlistResponseDto join(@PathVariable Long carId) {
+        return waitlistService.join(carId);
+    }
+
+    @DeleteMapping("/{carId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasRole('ROLE_CUSTOMER')")
+    @Operation(summary = "Leave the waitlist of a car", description = "Leave the waitlist of a car")
+    public void leave(@PathVariable Long carId) {
+        waitlistService.leave(carId);
+    }
+}
@@ -0,0 +1,7 @@
+package carsharingapp.dto;
+
+import java.math.BigDecimal;
+
+public record CarChangeEventDto(Long carId, int inventory, BigDecimal dailyFee,
+                                boolean deleted) {
+}
@@ -1,5 +1,7 @@
 package carsharingapp.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
@@ -21,4 +23,10 @@ public class CarRequestDto {
     private int inventory;
     @Positive
     private BigDecimal dailyFee;
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
 }
@@ -14,4 +14,6 @@ public class CarResponseDto {
     private Car.Type type;
     private int inventory;
     private BigDecimal dailyFee;
+    private Double latitude;
+    private Double longitude;
 }
@@ -0,0 +1,6 @@
+package carsharingapp.dto;
+
+import java.util.List;
+
+public record CarScrollResponseDto(List<CarResponseDto> cars, String nextCursor) {
+}
@@ -0,0 +1,16 @@
+package carsharingapp.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldRequestDto {
+    @NotNull
+    @Positive
+    private Long carId;
+}
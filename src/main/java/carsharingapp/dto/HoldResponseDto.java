@@ -0,0 +1,6 @@
+package carsharingapp.dto;
+
+import java.time.LocalDateTime;
+
+public record HoldResponseDto(Long id, Long carId, LocalDateTime expiresAt) {
+}
@@ -0,0 +1,4 @@
+package carsharingapp.dto;
+
+public record NearbyCarResponseDto(CarResponseDto car, double distanceMeters) {
+}
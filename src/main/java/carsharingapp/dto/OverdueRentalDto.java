@@ -0,0 +1,6 @@
+package carsharingapp.dto;
+
+import java.time.LocalDate;
+
+public record OverdueRentalDto(Long rentalId, LocalDate returnDate) {
+}
@@ -0,0 +1,7 @@
+package carsharingapp.dto;
+
+import java.time.LocalDate;
+
+public record RentalBookingDto(Long rentalId, Long carId, LocalDate rentalDate,
+                               LocalDate returnDate) {
+}
@@ -19,4 +19,6 @@ public class RentalRequestDto {
     private Long carId;
     @NotNull
     private Long userId;
+    @Positive
+    private Long holdId;
 }
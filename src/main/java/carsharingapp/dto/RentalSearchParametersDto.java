@@ -0,0 +1,12 @@
+package carsharingapp.dto;
+
+import java.time.LocalDate;
+
+public record RentalSearchParametersDto(
+        Long userId,
+        Boolean isActive,
+        Long carId,
+        LocalDate from,
+        LocalDate to
+) {
+}
@@ -0,0 +1,19 @@
+package carsharingapp.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetryBatchRequestDto {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid @NotNull TelemetryReadingDto> readings;
+}
@@ -0,0 +1,39 @@
+package carsharingapp.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class TelemetryReadingDto {
+    @NotNull
+    @Positive
+    private Long carId;
+    @Positive
+    private Long rentalId;
+    @NotNull
+    private LocalDateTime recordedAt;
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+    @PositiveOrZero
+    private Double odometerKm;
+    @Min(0)
+    @Max(100)
+    private Integer fuelLevel;
+}
@@ -0,0 +1,6 @@
+package carsharingapp.dto;
+
+import java.time.LocalDateTime;
+
+public record TripPointDto(LocalDateTime recordedAt, double latitude, double longitude) {
+}
@@ -0,0 +1,4 @@
+package carsharingapp.dto;
+
+public record WaitlistResponseDto(Long carId, int waiting) {
+}
@@ -0,0 +1,4 @@
+package carsharingapp.event;
+
+public record CarChangedEvent(Long carId) {
+}
@@ -0,0 +1,4 @@
+package carsharingapp.event;
+
+public record NotificationEnqueuedEvent(Long notificationId) {
+}
@@ -0,0 +1,7 @@
+package carsharingapp.exception;
+
+public class RequestInProgressException extends RuntimeException {
+    public RequestInProgressException(String message) {
+        super(message);
+    }
+}
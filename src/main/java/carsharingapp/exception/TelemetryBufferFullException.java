@@ -0,0 +1,7 @@
+package carsharingapp.exception;
+
+public class TelemetryBufferFullException extends RuntimeException {
+    public TelemetryBufferFullException(String message) {
+        super(message);
+    }
+}
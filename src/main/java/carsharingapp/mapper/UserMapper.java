@@ -15,6 +15,7 @@ import org.mapstruct.MappingTarget;
 @Mapper(config = MapperConfig.class)
 public interface UserMapper {
     @Mapping(target = "roles", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     User toEntity(UserRegistrationRequestDto requestDto);
 
     @Mapping(target = "roleIds", ignore = true)
@@ -8,14 +8,18 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.math.BigDecimal;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cars")
 @Setter
 @Getter
 @SQLDelete(sql = "UPDATE cars SET is_deleted = true WHERE id=?")
@@ -24,7 +28,10 @@ import org.hibernate.annotations.SQLRestriction;
 @Accessors(chain = true)
 public class Car {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "cars_id")
+    @TableGenerator(name = "cars_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "cars", allocationSize = 50)
     private Long id;
     @Column(nullable = false, unique = true)
     private String model;
@@ -37,6 +44,10 @@ public class Car {
     private int inventory;
     @Column(nullable = false)
     private BigDecimal dailyFee;
+    @Column(columnDefinition = "decimal(9,6)")
+    private Double latitude;
+    @Column(columnDefinition = "decimal(9,6)")
+    private Double longitude;
     @Column(nullable = false, name = "is_deleted")
     private boolean isDeleted;
 
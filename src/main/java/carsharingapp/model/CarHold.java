@@ -0,0 +1,35 @@
+package carsharingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Entity
+@Setter
+@Getter
+@Table(name = "car_holds", uniqueConstraints = @UniqueConstraint(
+        name = "uq_car_holds_user_id", columnNames = "user_id"))
+@Accessors(chain = true)
+public class CarHold {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "car_holds_id")
+    @TableGenerator(name = "car_holds_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "car_holds", allocationSize = 50)
+    private Long id;
+    @Column(nullable = false)
+    private Long carId;
+    @Column(nullable = false)
+    private Long userId;
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,52 @@
+package carsharingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Entity
+@Setter
+@Getter
+@Table(name = "idempotency_keys")
+@Accessors(chain = true)
+public class IdempotencyKey {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "idempotency_keys_id")
+    @TableGenerator(name = "idempotency_keys_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "idempotency_keys", allocationSize = 50)
+    private Long id;
+    @Column(nullable = false)
+    private Long userId;
+    @Column(nullable = false)
+    private String operation;
+    @Column(name = "idempotency_key", nullable = false)
+    private String key;
+    @Column(nullable = false)
+    private String requestHash;
+    @Column(nullable = false, columnDefinition = "varchar")
+    @Enumerated(EnumType.STRING)
+    private Status status;
+    @Column(columnDefinition = "text")
+    private String responseBody;
+    @Column(length = 36)
+    private String claimToken;
+    private LocalDateTime claimedAt;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED;
+    }
+}
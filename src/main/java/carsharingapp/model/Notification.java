@@ -0,0 +1,48 @@
+package carsharingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Entity
+@Setter
+@Getter
+@Table(name = "notifications")
+@Accessors(chain = true)
+public class Notification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notifications_id")
+    @TableGenerator(name = "notifications_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "notifications", allocationSize = 50)
+    private Long id;
+    @Column(nullable = false)
+    private Long chatId;
+    @Column(nullable = false, columnDefinition = "text")
+    private String message;
+    @Column(nullable = false, columnDefinition = "varchar")
+    @Enumerated(EnumType.STRING)
+    private Status status;
+    @Column(nullable = false)
+    private int attempts;
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        PENDING,
+        SENT,
+        FAILED;
+    }
+}
@@ -11,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.math.BigDecimal;
 import java.net.URL;
 import lombok.Getter;
@@ -24,7 +25,10 @@ import lombok.experimental.Accessors;
 @Accessors(chain = true)
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payments_id")
+    @TableGenerator(name = "payments_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "payments", allocationSize = 50)
     private Long id;
     @Column(nullable = false, columnDefinition = "varchar")
     @Enumerated(EnumType.STRING)
@@ -35,9 +39,8 @@ public class Payment {
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(nullable = false)
     private Rental rental;
-    @Column(nullable = false, columnDefinition = "text")
+    @Column(columnDefinition = "text")
     private URL sessionUrl;
-    @Column(nullable = false)
     private String sessionId;
     @Column(nullable = false)
     private BigDecimal amountToPay;
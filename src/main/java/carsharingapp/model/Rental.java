@@ -9,6 +9,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.time.LocalDate;
 import lombok.Getter;
 import lombok.Setter;
@@ -21,7 +22,10 @@ import lombok.experimental.Accessors;
 @Accessors(chain = true)
 public class Rental {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "rentals_id")
+    @TableGenerator(name = "rentals_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "rentals", allocationSize = 50)
     private Long id;
     @Column(nullable = false)
     private LocalDate rentalDate;
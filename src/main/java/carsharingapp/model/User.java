@@ -10,6 +10,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.util.Collection;
 import java.util.Set;
 import lombok.EqualsAndHashCode;
@@ -17,6 +18,8 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 import org.springframework.security.core.GrantedAuthority;
@@ -31,7 +34,10 @@ import org.springframework.security.core.userdetails.UserDetails;
 @Accessors(chain = true)
 public class User implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+    @TableGenerator(name = "users_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "users", allocationSize = 50)
     private Long id;
     @Column(nullable = false, unique = true)
     private String email;
@@ -45,7 +51,10 @@ public class User implements UserDetails {
     private boolean isDeleted;
     @Column(name = "telegram_chat_id")
     private Long telegramChatId;
+    @Column(nullable = false, name = "token_version")
+    private int tokenVersion;
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     @JoinTable(
@@ -0,0 +1,70 @@
+package carsharingapp.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    public QueryCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${monitoring.sql.statement-budget:20}") int statementBudget
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        QueryCountInspector.QueryScope scope = QueryCountInspector.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            if (!response.isCommitted()) {
+                response.setHeader(QUERY_COUNT_HEADER, String.valueOf(scope.count()));
+            }
+            record(request, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCountInspector.QueryScope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.count());
+        if (scope.count() > statementBudget) {
+            Map.Entry<String, Integer> repeated = scope.mostRepeated().orElseThrow();
+            log.warn("{} {} executed {} SQL statements, the budget is {}; "
+                            + "most repeated ({} times): {}", request.getMethod(), uri,
+                    scope.count(), statementBudget, repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package carsharingapp.monitoring;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@ControllerAdvice
+public class QueryCountResponseAdvice implements ResponseBodyAdvice<Object> {
+    @Override
+    public boolean supports(
+            MethodParameter returnType,
+            Class<? extends HttpMessageConverter<?>> converterType
+    ) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        QueryCountInspector.QueryScope scope = QueryCountInspector.current();
+        if (scope != null && response instanceof ServletServerHttpResponse servletResponse) {
+            HttpServletResponse httpResponse = servletResponse.getServletResponse();
+            if (!httpResponse.isCommitted()) {
+                httpResponse.setHeader(QueryCountFilter.QUERY_COUNT_HEADER,
+                        String.valueOf(scope.count()));
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,36 @@
+package carsharingapp.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+public final class TimedCall {
+    public static final String EXCEPTION_TAG = "exception";
+    private static final String NO_EXCEPTION = "none";
+
+    private TimedCall() {
+    }
+
+    public static <T, E extends Exception> T record(
+            MeterRegistry meterRegistry,
+            String name,
+            Call<T, E> call
+    ) throws E {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NO_EXCEPTION;
+        try {
+            return call.call();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag(EXCEPTION_TAG, exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+}
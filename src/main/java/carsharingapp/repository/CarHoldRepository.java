@@ -0,0 +1,20 @@
+package carsharingapp.repository;
+
+import carsharingapp.model.CarHold;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface CarHoldRepository extends JpaRepository<CarHold, Long> {
+    boolean existsByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM CarHold h WHERE h.id = :holdId AND h.carId = :carId "
+            + "AND h.userId = :userId AND h.expiresAt > :now")
+    int deleteActiveHold(Long holdId, Long carId, Long userId, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM CarHold h WHERE h.id = :holdId")
+    int deleteHold(Long holdId);
+}
@@ -1,7 +1,32 @@
 package carsharingapp.repository;
 
 import carsharingapp.model.Car;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface CarRepository extends JpaRepository<Car, Long> {
+    String INVENTORY_QUERY_SPACE = "car_inventory";
+
+    @Query("FROM Car c WHERE c.id > :afterId ORDER BY c.id")
+    List<Car> findNextPage(Long afterId, Limit limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES,
+            value = INVENTORY_QUERY_SPACE))
+    @Query(value = "UPDATE cars SET inventory = inventory - 1 "
+            + "WHERE id = :carId AND inventory > 0 AND is_deleted = false", nativeQuery = true)
+    int decrementInventory(Long carId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES,
+            value = INVENTORY_QUERY_SPACE))
+    @Query(value = "UPDATE cars SET inventory = inventory + 1 WHERE id = :carId",
+            nativeQuery = true)
+    int incrementInventory(Long carId);
 }
@@ -0,0 +1,42 @@
+package carsharingapp.repository;
+
+import carsharingapp.model.IdempotencyKey;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+    String IN_PROGRESS = "carsharingapp.model.IdempotencyKey.Status.IN_PROGRESS";
+    String COMPLETED = "carsharingapp.model.IdempotencyKey.Status.COMPLETED";
+
+    Optional<IdempotencyKey> findByUserIdAndOperationAndKey(
+            Long userId, String operation, String key);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.claimToken = :claimToken, k.claimedAt = :now "
+            + "WHERE k.id = :id AND k.status = " + IN_PROGRESS
+            + " AND (k.claimedAt IS NULL OR k.claimedAt < :staleBefore)")
+    int takeOver(Long id, String claimToken, LocalDateTime now, LocalDateTime staleBefore);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.status = " + COMPLETED
+            + ", k.responseBody = :responseBody WHERE k.id = :id AND k.status = " + IN_PROGRESS
+            + " AND k.claimToken = :claimToken")
+    int complete(Long id, String claimToken, String responseBody);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.id = :id AND k.status = " + IN_PROGRESS
+            + " AND k.claimToken = :claimToken")
+    int release(Long id, String claimToken);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,41 @@
+package carsharingapp.repository;
+
+import carsharingapp.model.Notification;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    String SKIP_LOCKED = "-2";
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = SKIP_LOCKED))
+    @Query("FROM Notification n WHERE n.status = :status AND n.nextAttemptAt <= :now "
+            + "ORDER BY n.id")
+    List<Notification> findDueForUpdate(Notification.Status status, LocalDateTime now,
+                                        Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = SKIP_LOCKED))
+    @Query("FROM Notification n WHERE n.id IN :ids AND n.status = :status "
+            + "AND n.nextAttemptAt <= :now")
+    List<Notification> findDueByIdsForUpdate(Collection<Long> ids, Notification.Status status,
+                                             LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = :status, n.attempts = :attempts, "
+            + "n.nextAttemptAt = :nextAttemptAt WHERE n.id IN :ids")
+    int updateDelivery(Collection<Long> ids, Notification.Status status, int attempts,
+                       LocalDateTime nextAttemptAt);
+}
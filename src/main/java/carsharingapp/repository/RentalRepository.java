@@ -1,12 +1,32 @@
 package carsharingapp.repository;
 
+import carsharingapp.dto.OverdueRentalDto;
+import carsharingapp.dto.RentalBookingDto;
 import carsharingapp.model.Rental;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
-public interface RentalRepository extends JpaRepository<Rental, Long> {
-    @Query("FROM Rental r LEFT JOIN FETCH r.user u "
-            + "WHERE u.id = :userId AND r.actualReturnDate IS NULL")
-    List<Rental> findOpenRental(Long userId);
+public interface RentalRepository extends JpaRepository<Rental, Long>,
+        JpaSpecificationExecutor<Rental>, RentalSearchRepository {
+    @Query("SELECT new carsharingapp.dto.OverdueRentalDto(r.id, r.returnDate) FROM Rental r "
+            + "WHERE r.actualReturnDate IS NULL AND r.returnDate < :date "
+            + "ORDER BY r.returnDate, r.id")
+    List<OverdueRentalDto> findFirstOverdueRentals(LocalDate date, Limit limit);
+
+    @Query("SELECT new carsharingapp.dto.OverdueRentalDto(r.id, r.returnDate) FROM Rental r "
+            + "WHERE r.actualReturnDate IS NULL AND r.returnDate < :date "
+            + "AND (r.returnDate > :lastReturnDate "
+            + "OR (r.returnDate = :lastReturnDate AND r.id > :lastId)) "
+            + "ORDER BY r.returnDate, r.id")
+    List<OverdueRentalDto> findOverdueRentalsAfter(LocalDate date, LocalDate lastReturnDate,
+                                                   Long lastId, Limit limit);
+
+    @Query("SELECT new carsharingapp.dto.RentalBookingDto("
+            + "r.id, r.car.id, r.rentalDate, r.returnDate) "
+            + "FROM Rental r WHERE r.actualReturnDate IS NULL")
+    List<RentalBookingDto> findOpenBookings();
 }
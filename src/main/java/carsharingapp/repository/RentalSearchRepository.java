@@ -0,0 +1,10 @@
+package carsharingapp.repository;
+
+import carsharingapp.model.Rental;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface RentalSearchRepository {
+    Slice<Rental> findSliceWithCar(Specification<Rental> specification, Pageable pageable);
+}
@@ -0,0 +1,49 @@
+package carsharingapp.repository;
+
+import carsharingapp.model.Rental;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+@RequiredArgsConstructor
+class RentalSearchRepositoryImpl implements RentalSearchRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<Rental> findSliceWithCar(Specification<Rental> specification,
+                                          Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Rental> query = cb.createQuery(Rental.class);
+        Root<Rental> root = query.from(Rental.class);
+        query.select(root);
+        if (specification != null) {
+            query.where(specification.toPredicate(root, query, cb));
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        EntityGraph<Rental> withCar = entityManager.createEntityGraph(Rental.class);
+        withCar.addAttributeNodes("car");
+        TypedQuery<Rental> typedQuery = entityManager.createQuery(query)
+                .setHint(SpecHints.HINT_SPEC_LOAD_GRAPH, withCar);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(typedQuery.getResultList(), pageable, false);
+        }
+        List<Rental> rentals = typedQuery
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rentals.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rentals.subList(0, pageable.getPageSize()) : rentals,
+                pageable, hasNext);
+    }
+}
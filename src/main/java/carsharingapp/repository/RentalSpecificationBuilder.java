@@ -0,0 +1,48 @@
+package carsharingapp.repository;
+
+import carsharingapp.dto.RentalSearchParametersDto;
+import carsharingapp.model.Rental;
+import java.time.LocalDate;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class RentalSpecificationBuilder {
+    private RentalSpecificationBuilder() {
+    }
+
+    public static Specification<Rental> build(RentalSearchParametersDto parameters) {
+        return Specification.where(hasUserId(parameters.userId()))
+                .and(isActive(parameters.isActive()))
+                .and(hasCarId(parameters.carId()))
+                .and(rentedFrom(parameters.from()))
+                .and(rentedTo(parameters.to()));
+    }
+
+    private static Specification<Rental> hasUserId(Long userId) {
+        return userId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    private static Specification<Rental> isActive(Boolean isActive) {
+        if (isActive == null) {
+            return null;
+        }
+        return isActive
+                ? (root, query, cb) -> cb.isNull(root.get("actualReturnDate"))
+                : (root, query, cb) -> cb.isNotNull(root.get("actualReturnDate"));
+    }
+
+    private static Specification<Rental> hasCarId(Long carId) {
+        return carId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("car").get("id"), carId);
+    }
+
+    private static Specification<Rental> rentedFrom(LocalDate from) {
+        return from == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("rentalDate"), from);
+    }
+
+    private static Specification<Rental> rentedTo(LocalDate to) {
+        return to == null ? null
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("rentalDate"), to);
+    }
+}
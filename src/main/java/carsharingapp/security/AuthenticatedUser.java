@@ -0,0 +1,21 @@
+package carsharingapp.security;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Set;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+public record AuthenticatedUser(Long id, String email, int tokenVersion, Set<String> roles)
+        implements Principal {
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+}
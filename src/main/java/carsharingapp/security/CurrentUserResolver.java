@@ -0,0 +1,41 @@
+package carsharingapp.security;
+
+import carsharingapp.model.User;
+import carsharingapp.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+    private final UserRepository userRepository;
+    private User currentUser;
+
+    public User getCurrentUser() {
+        if (currentUser == null) {
+            Long userId = getCurrentUserId();
+            currentUser = userRepository.findById(userId).orElseThrow(
+                    () -> new EntityNotFoundException("Can't find user with this ID: " + userId)
+            );
+        }
+        return currentUser;
+    }
+
+    public Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication != null ? authentication.getPrincipal() : null;
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.id();
+        }
+        if (principal instanceof UserSnapshot userSnapshot) {
+            return userSnapshot.id();
+        }
+        throw new AuthenticationCredentialsNotFoundException("No authenticated user found");
+    }
+}
@@ -1,8 +1,10 @@
 package carsharingapp.security;
 
+import carsharingapp.config.CacheConfig;
 import carsharingapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -13,8 +15,14 @@ public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
 
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS_CACHE, key = "#email")
+    public UserSnapshot loadUserByUsername(String email) throws UsernameNotFoundException {
         return userRepository.findByEmail(email)
+                .map(UserSnapshot::from)
                 .orElseThrow(() -> new UsernameNotFoundException("Can't find user by email"));
     }
+
+    @CacheEvict(cacheNames = CacheConfig.USER_DETAILS_CACHE, key = "#email")
+    public void evict(String email) {
+    }
 }
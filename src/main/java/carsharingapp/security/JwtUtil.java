@@ -1,76 +1,74 @@
 package carsharingapp.security;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
 @Component
 public class JwtUtil {
-    private final Key secret;
-    @Value("${jwt.expiration}")
-    private long expiration;
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String VERSION_CLAIM = "ver";
 
-    public JwtUtil(@Value("${jwt.secret}") String secretString) {
+    private final SecretKey secret;
+    private final JwtParser parser;
+    private final long expiration;
+
+    public JwtUtil(@Value("${jwt.secret}") String secretString,
+                   @Value("${jwt.expiration}") long expiration) {
         secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(secret)
+                .build();
+        this.expiration = expiration;
     }
 
-    public String generateToken(String username) {
+    public String generateToken(UserSnapshot user) {
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .subject(user.email())
+                .claim(USER_ID_CLAIM, user.id())
+                .claim(ROLES_CLAIM, user.roles())
+                .claim(VERSION_CLAIM, user.tokenVersion())
+                .issuedAt(new Date(System.currentTimeMillis()))
+                .expiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(secret)
                 .compact();
     }
 
-    public boolean isValidToken(String token) {
+    public Claims parseClaims(String token) {
         try {
-            Jws<Claims> claimsJws = Jwts.parser()
-                    .setSigningKey(secret)
-                    .build()
-                    .parseClaimsJws(token);
-            return !claimsJws.getBody().getExpiration().before(new Date());
+            return parser.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Expired or invalid JWT token");
         }
     }
 
-    public String getUsername(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
-    }
-
-    private <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parser()
-                .setSigningKey(secret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        Integer version = claims.get(VERSION_CLAIM, Integer.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (userId == null || version == null || roles == null) {
+            throw new JwtException("Expired or invalid JWT token");
+        }
+        return new AuthenticatedUser(userId, claims.getSubject(), version,
+                roles.stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.toUnmodifiableSet()));
     }
 
-    public String getToken() {
-        ServletRequestAttributes servletRequestAttributes =
-                (ServletRequestAttributes) RequestContextHolder
-                        .getRequestAttributes();
-        HttpServletRequest request = null;
-        if (servletRequestAttributes != null) {
-            request = servletRequestAttributes
-                    .getRequest();
-        }
-        String bearerToken =
-                request != null ? request.getHeader("Authorization") : null;
+    public String getToken(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken)
                 && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
@@ -79,4 +77,3 @@ public class JwtUtil {
     }
 
 }
-
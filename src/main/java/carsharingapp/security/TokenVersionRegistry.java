@@ -0,0 +1,46 @@
+package carsharingapp.security;
+
+import carsharingapp.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class TokenVersionRegistry {
+    private static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> versions;
+
+    public TokenVersionRegistry(
+            UserRepository userRepository,
+            @Value("${security.token-version.cache.spec:maximumSize=100000,expireAfterWrite=30s}")
+            String cacheSpec
+    ) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.from(cacheSpec).build();
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        int version = versions.get(userId,
+                id -> userRepository.findTokenVersionById(id).orElse(REVOKED));
+        return version != REVOKED && version == tokenVersion;
+    }
+
+    public void revoke(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        versions.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            versions.invalidate(userId);
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package carsharingapp.security;
+
+import carsharingapp.model.Role;
+import carsharingapp.model.User;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+public record UserSnapshot(Long id, String email, String password, Set<String> roles,
+                           int tokenVersion, boolean enabled) implements UserDetails {
+    public static UserSnapshot from(User user) {
+        return new UserSnapshot(user.getId(), user.getEmail(), user.getPassword(),
+                user.getRoles().stream()
+                        .map(Role::getAuthority)
+                        .collect(Collectors.toUnmodifiableSet()),
+                user.getTokenVersion(), user.isEnabled());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String toString() {
+        return "UserSnapshot[id=" + id + ", email=" + email + ", roles=" + roles + "]";
+    }
+}
@@ -2,6 +2,9 @@ package carsharingapp.service;
 
 import carsharingapp.dto.CarRequestDto;
 import carsharingapp.dto.CarResponseDto;
+import carsharingapp.dto.CarScrollResponseDto;
+import carsharingapp.dto.NearbyCarResponseDto;
+import java.time.LocalDate;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
@@ -10,6 +13,13 @@ public interface CarService {
 
     List<CarResponseDto> getAllCars(Pageable pageable);
 
+    CarScrollResponseDto scrollCars(String cursor, int size);
+
+    List<CarResponseDto> getAvailableCars(LocalDate from, LocalDate to, String type);
+
+    List<NearbyCarResponseDto> getNearbyCars(double latitude, double longitude,
+                                             double radiusMeters, String type, int limit);
+
     CarResponseDto getCarById(Long id);
 
     CarResponseDto updateCarById(Long id, CarRequestDto requestDto);
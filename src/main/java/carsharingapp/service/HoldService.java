@@ -0,0 +1,12 @@
+package carsharingapp.service;
+
+import carsharingapp.dto.HoldRequestDto;
+import carsharingapp.dto.HoldResponseDto;
+
+public interface HoldService {
+    HoldResponseDto createHold(HoldRequestDto requestDto);
+
+    HoldResponseDto createHoldForUser(Long userId, Long carId);
+
+    void cancelHold(Long holdId);
+}
@@ -0,0 +1,10 @@
+package carsharingapp.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    <T> T execute(String operation, String key, Object request, Class<T> responseType,
+                  Supplier<T> action);
+}
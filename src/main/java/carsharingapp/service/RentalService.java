@@ -2,8 +2,10 @@ package carsharingapp.service;
 
 import carsharingapp.dto.RentalRequestDto;
 import carsharingapp.dto.RentalResponseDto;
-import carsharingapp.model.User;
+import carsharingapp.dto.RentalSearchParametersDto;
+import carsharingapp.dto.TripPointDto;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 
 public interface RentalService {
     RentalResponseDto save(RentalRequestDto requestDto);
@@ -12,9 +14,9 @@ public interface RentalService {
 
     RentalResponseDto setActualReturnDate(Long rentalId);
 
-    List<RentalResponseDto> getRentalsByUserId(
-            Long userId, Boolean isActive
-    );
+    List<TripPointDto> getTrip(Long rentalId);
 
-    void checkUserHasOpenRentals(User user);
+    List<RentalResponseDto> search(
+            RentalSearchParametersDto searchParameters, Pageable pageable
+    );
 }
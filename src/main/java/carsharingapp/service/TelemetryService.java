@@ -0,0 +1,8 @@
+package carsharingapp.service;
+
+import carsharingapp.dto.TelemetryBatchRequestDto;
+import carsharingapp.dto.TelemetryIngestResponseDto;
+
+public interface TelemetryService {
+    TelemetryIngestResponseDto ingest(TelemetryBatchRequestDto requestDto);
+}
@@ -0,0 +1,9 @@
+package carsharingapp.service;
+
+import carsharingapp.dto.WaitlistResponseDto;
+
+public interface WaitlistService {
+    WaitlistResponseDto join(Long carId);
+
+    void leave(Long carId);
+}
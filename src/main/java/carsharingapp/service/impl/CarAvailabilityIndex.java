@@ -0,0 +1,211 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.dto.RentalBookingDto;
+import carsharingapp.model.Car;
+import carsharingapp.model.CarHold;
+import carsharingapp.repository.CarHoldRepository;
+import carsharingapp.repository.CarRepository;
+import carsharingapp.repository.RentalRepository;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Setter
+@Component
+@RequiredArgsConstructor
+public class CarAvailabilityIndex {
+    private final CarRepository carRepository;
+    private final RentalRepository rentalRepository;
+    private final CarHoldRepository carHoldRepository;
+    private final Map<Long, CarCalendar> calendars = new ConcurrentHashMap<>();
+    @Value("${cars.availability.horizon-days:3660}")
+    private int horizonDays = 3660;
+
+    // updates are keyed by rental and hold id, so replaying one the rebuild already read is a no-op
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long today = LocalDate.now().toEpochDay();
+        Map<Long, CarCalendar> rebuilt = new HashMap<>();
+        List<Car> cars = carRepository.findAll();
+        for (Car car : cars) {
+            rebuilt.put(car.getId(), new CarCalendar(car.getType(), today, horizonDays));
+        }
+        List<RentalBookingDto> bookings = rentalRepository.findOpenBookings();
+        for (RentalBookingDto booking : bookings) {
+            CarCalendar calendar = rebuilt.get(booking.carId());
+            if (calendar != null) {
+                calendar.book(booking.rentalId(), booking.rentalDate(), booking.returnDate());
+            }
+        }
+        List<CarHold> holds = carHoldRepository.findAll();
+        for (CarHold hold : holds) {
+            CarCalendar calendar = rebuilt.get(hold.getCarId());
+            if (calendar != null) {
+                calendar.hold(hold.getId());
+            }
+        }
+        for (Car car : cars) {
+            rebuilt.get(car.getId()).setFreeUnits(car.getInventory());
+        }
+        calendars.clear();
+        calendars.putAll(rebuilt);
+        log.info("Car availability index built for {} cars, {} open rentals and {} holds",
+                cars.size(), bookings.size(), holds.size());
+    }
+
+    public List<Long> findAvailableCarIds(LocalDate from, LocalDate to, Car.Type type) {
+        long today = LocalDate.now().toEpochDay();
+        return calendars.entrySet().stream()
+                .filter(entry -> type == null || entry.getValue().type == type)
+                .filter(entry -> entry.getValue().isFree(from, to, today))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    public void registerCar(Car car) {
+        Long carId = car.getId();
+        Car.Type type = car.getType();
+        int inventory = car.getInventory();
+        TransactionCallbacks.afterCommit(() -> update(() -> calendars.compute(carId,
+                (id, existing) -> {
+                    CarCalendar calendar = existing != null ? existing
+                            : new CarCalendar(type, LocalDate.now().toEpochDay(), horizonDays);
+                    calendar.type = type;
+                    calendar.setFreeUnits(inventory);
+                    return calendar;
+                })));
+    }
+
+    public void removeCar(Long carId) {
+        TransactionCallbacks.afterCommit(() -> update(() -> calendars.remove(carId)));
+    }
+
+    public void book(Long carId, Long rentalId, LocalDate rentalDate, LocalDate returnDate) {
+        TransactionCallbacks.afterCommit(() -> update(() -> withCalendar(carId,
+                calendar -> calendar.book(rentalId, rentalDate, returnDate))));
+    }
+
+    public void release(Long carId, Long rentalId) {
+        TransactionCallbacks.afterCommit(() -> update(() -> withCalendar(carId,
+                calendar -> calendar.release(rentalId))));
+    }
+
+    public void hold(Long carId, Long holdId) {
+        TransactionCallbacks.afterCommit(() -> update(() -> withCalendar(carId,
+                calendar -> calendar.hold(holdId))));
+    }
+
+    public void releaseHold(Long carId, Long holdId) {
+        TransactionCallbacks.afterCommit(() -> update(() -> withCalendar(carId,
+                calendar -> calendar.releaseHold(holdId))));
+    }
+
+    private synchronized void update(Runnable change) {
+        change.run();
+    }
+
+    private void withCalendar(Long carId, Consumer<CarCalendar> change) {
+        CarCalendar calendar = calendars.get(carId);
+        if (calendar != null) {
+            change.accept(calendar);
+        }
+    }
+
+    private static final class CarCalendar {
+        private final long baseDay;
+        private final int horizonDays;
+        private final Map<Long, Booking> bookings = new HashMap<>();
+        private final Set<Long> holds = new HashSet<>();
+        private int[] booked = new int[0];
+        private int fleetSize;
+        private volatile Car.Type type;
+
+        private CarCalendar(Car.Type type, long baseDay, int horizonDays) {
+            this.type = type;
+            this.baseDay = baseDay;
+            this.horizonDays = horizonDays;
+        }
+
+        private synchronized void setFreeUnits(int inventory) {
+            fleetSize = inventory + bookings.size() + holds.size();
+        }
+
+        private synchronized void book(Long rentalId, LocalDate rentalDate,
+                                       LocalDate returnDate) {
+            long start = rentalDate.toEpochDay();
+            Booking booking = new Booking(start, Math.max(returnDate.toEpochDay(), start + 1));
+            if (bookings.putIfAbsent(rentalId, booking) == null) {
+                add(booking, 1);
+            }
+        }
+
+        private synchronized void release(Long rentalId) {
+            Booking booking = bookings.remove(rentalId);
+            if (booking != null) {
+                add(booking, -1);
+            }
+        }
+
+        private synchronized void hold(Long holdId) {
+            holds.add(holdId);
+        }
+
+        private synchronized void releaseHold(Long holdId) {
+            holds.remove(holdId);
+        }
+
+        // holds and overdue rentals keep their unit from today until they are let go
+        private synchronized boolean isFree(LocalDate from, LocalDate to, long today) {
+            int heldFromToday = holds.size();
+            for (Booking booking : bookings.values()) {
+                if (booking.endDay() <= today) {
+                    heldFromToday++;
+                }
+            }
+            if (heldFromToday >= fleetSize) {
+                return false;
+            }
+            int start = (int) Math.max(0, from.toEpochDay() - baseDay);
+            int end = (int) Math.min(booked.length, to.toEpochDay() - baseDay);
+            for (int day = start; day < end; day++) {
+                if (booked[day] + heldFromToday >= fleetSize) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void add(Booking booking, int delta) {
+            int start = (int) Math.max(0, booking.startDay() - baseDay);
+            int end = (int) Math.min(horizonDays, booking.endDay() - baseDay);
+            if (start >= end) {
+                return;
+            }
+            if (end > booked.length) {
+                booked = Arrays.copyOf(booked, Math.min(horizonDays,
+                        Math.max(end, booked.length * 2)));
+            }
+            for (int day = start; day < end; day++) {
+                booked[day] += delta;
+            }
+        }
+    }
+
+    private record Booking(long startDay, long endDay) {
+    }
+}
@@ -0,0 +1,46 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.config.CacheConfig;
+import carsharingapp.dto.CarResponseDto;
+import carsharingapp.event.CarChangedEvent;
+import carsharingapp.mapper.CarMapper;
+import carsharingapp.repository.CarRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class CarCatalogPages {
+    private final CarRepository carRepository;
+    private final CarMapper carMapper;
+    private final CacheManager cacheManager;
+
+    @Cacheable(cacheNames = CacheConfig.CAR_PAGES_CACHE, key = "#pageable", sync = true)
+    public List<CarResponseDto> findPage(Pageable pageable) {
+        return carRepository.findAll(pageable).stream()
+                .map(carMapper::toDto)
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @SuppressWarnings("unchecked")
+    public void onCarChanged(CarChangedEvent event) {
+        org.springframework.cache.Cache pages = cacheManager.getCache(
+                CacheConfig.CAR_PAGES_CACHE);
+        if (pages == null) {
+            return;
+        }
+        // a transaction-aware evict registered after commit never runs, so use the native cache
+        Long carId = event.carId();
+        ((Cache<Object, Object>) pages.getNativeCache()).asMap().entrySet().removeIf(entry ->
+                entry.getValue() instanceof List<?> cars && cars.stream()
+                        .anyMatch(car -> car instanceof CarResponseDto dto
+                                && carId.equals(dto.getId())));
+    }
+}
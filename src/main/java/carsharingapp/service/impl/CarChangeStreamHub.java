@@ -0,0 +1,285 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.dto.CarChangeEventDto;
+import carsharingapp.event.CarChangedEvent;
+import carsharingapp.exception.SubscriberLimitException;
+import carsharingapp.model.Car;
+import carsharingapp.repository.CarRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@Setter
+@Component
+public class CarChangeStreamHub {
+    private static final String EVENT_NAME = "car-change";
+    private static final Long HEARTBEAT_KEY = 0L;
+    private static final PendingEvent HEARTBEAT = new PendingEvent(0, null);
+
+    private final CarRepository carRepository;
+    private final ObjectMapper objectMapper;
+    private final Set<Long> dirtyCarIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final Counter droppedCounter;
+
+    @Value("${cars.stream.flush-interval-ms:250}")
+    private long flushIntervalMillis = 250;
+    @Value("${cars.stream.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMillis = 15_000;
+    @Value("${cars.stream.sender-threads:4}")
+    private int senderThreads = 4;
+    @Value("${cars.stream.max-subscribers:10000}")
+    private int maxSubscribers = 10_000;
+    @Value("${cars.stream.max-pending-events:256}")
+    private int maxPendingEvents = 256;
+    @Value("${cars.stream.timeout-ms:1800000}")
+    private long timeoutMillis = 1_800_000;
+    @Value("${cars.stream.send-timeout-ms:5000}")
+    private long sendTimeoutMillis = 5_000;
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService senders;
+
+    public CarChangeStreamHub(CarRepository carRepository, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.carRepository = carRepository;
+        this.objectMapper = objectMapper;
+        this.droppedCounter = meterRegistry.counter("cars.stream.dropped");
+        meterRegistry.gaugeMapSize("cars.stream.subscribers", List.of(), subscribers);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("car-stream-flush"));
+        senders = Executors.newFixedThreadPool(senderThreads, daemonThreads("car-stream-sender"));
+        scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMillis,
+                heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(emitter);
+        return emitter;
+    }
+
+    public void register(SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new SubscriberLimitException("Too many car change subscribers, "
+                    + "please retry later");
+        }
+        long id = subscriberIds.incrementAndGet();
+        subscribers.put(id, new Subscriber(id, emitter));
+        emitter.onCompletion(() -> subscribers.remove(id));
+        emitter.onError(error -> subscribers.remove(id));
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        dirtyCarIds.add(event.carId());
+    }
+
+    public void flush() {
+        dropStalledSubscribers();
+        if (dirtyCarIds.isEmpty()) {
+            return;
+        }
+        List<Long> carIds = new ArrayList<>(dirtyCarIds);
+        carIds.forEach(dirtyCarIds::remove);
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, Car> cars = carRepository.findAllById(carIds).stream()
+                    .collect(Collectors.toMap(Car::getId, Function.identity()));
+            for (Long carId : carIds) {
+                Car car = cars.get(carId);
+                CarChangeEventDto change = car == null
+                        ? new CarChangeEventDto(carId, 0, null, true)
+                        : new CarChangeEventDto(carId, car.getInventory(), car.getDailyFee(),
+                        false);
+                PendingEvent event = new PendingEvent(eventIds.incrementAndGet(),
+                        objectMapper.writeValueAsString(change));
+                subscribers.values().forEach(subscriber -> subscriber.offer(carId, event));
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            dirtyCarIds.addAll(carIds);
+            log.warn("Failed to publish car changes, retrying on the next flush", e);
+        }
+    }
+
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        long sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        subscribers.values().stream()
+                .filter(subscriber -> subscriber.isStalled(now, sendTimeoutNanos))
+                .forEach(Subscriber::dropStalledConsumer);
+    }
+
+    private void heartbeat() {
+        subscribers.values().forEach(subscriber -> subscriber.offer(HEARTBEAT_KEY, HEARTBEAT));
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record PendingEvent(long id, String data) {
+        private SseEmitter.SseEventBuilder toSse() {
+            if (data == null) {
+                return SseEmitter.event().comment("keep-alive");
+            }
+            return SseEmitter.event().id(Long.toString(id)).name(EVENT_NAME).data(data);
+        }
+    }
+
+    private final class Subscriber {
+        private final long id;
+        private final SseEmitter emitter;
+        private final Map<Long, PendingEvent> pending = new LinkedHashMap<>();
+        private boolean draining;
+        private boolean closed;
+        private long sendingSince;
+        private Future<?> drainTask;
+
+        private Subscriber(long id, SseEmitter emitter) {
+            this.id = id;
+            this.emitter = emitter;
+        }
+
+        private void offer(Long key, PendingEvent event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                pending.put(key, event);
+                if (pending.size() > maxPendingEvents) {
+                    dropSlowConsumer();
+                    return;
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+                drainTask = senders.submit(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                List<PendingEvent> batch;
+                synchronized (this) {
+                    if (closed || pending.isEmpty()) {
+                        draining = false;
+                        sendingSince = 0;
+                        break;
+                    }
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                    sendingSince = System.nanoTime();
+                }
+                try {
+                    for (PendingEvent event : batch) {
+                        emitter.send(event.toSse());
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                    return;
+                }
+            }
+            boolean completeNow;
+            synchronized (this) {
+                completeNow = closed;
+            }
+            if (completeNow) {
+                emitter.complete();
+            }
+        }
+
+        private synchronized boolean isStalled(long now, long sendTimeoutNanos) {
+            return !closed && sendingSince != 0 && now - sendingSince > sendTimeoutNanos;
+        }
+
+        private void dropStalledConsumer() {
+            Future<?> stalledSend;
+            synchronized (this) {
+                closed = true;
+                pending.clear();
+                stalledSend = drainTask;
+            }
+            subscribers.remove(id);
+            droppedCounter.increment();
+            log.debug("Dropping stalled car change subscriber {}", id);
+            stalledSend.cancel(true);
+        }
+
+        private void dropSlowConsumer() {
+            closed = true;
+            pending.clear();
+            subscribers.remove(id);
+            droppedCounter.increment();
+            log.debug("Dropping slow car change subscriber {}", id);
+            if (!draining) {
+                draining = true;
+                senders.execute(emitter::complete);
+            }
+        }
+
+        private void close() {
+            synchronized (this) {
+                closed = true;
+                draining = false;
+                pending.clear();
+            }
+            subscribers.remove(id);
+            emitter.completeWithError(new IOException("Car change subscriber disconnected"));
+        }
+    }
+}
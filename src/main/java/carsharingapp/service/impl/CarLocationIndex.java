@@ -0,0 +1,112 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.model.Car;
+import carsharingapp.repository.CarRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class CarLocationIndex {
+    private final CarRepository carRepository;
+    private final GeoGridIndex<Car.Type> grid;
+    private final Map<Long, CarPosition> positions = new ConcurrentHashMap<>();
+
+    public CarLocationIndex(
+            CarRepository carRepository,
+            @Value("${cars.location.cell-size-degrees:0.01}") double cellSizeDegrees
+    ) {
+        this.carRepository = carRepository;
+        this.grid = new GeoGridIndex<>(cellSizeDegrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Car> cars = carRepository.findAll();
+        grid.clear();
+        positions.clear();
+        cars.forEach(this::index);
+        log.info("Car location index built with {} of {} cars", grid.size(), cars.size());
+    }
+
+    public List<GeoGridIndex.Neighbor<Car.Type>> findNearest(
+            double latitude, double longitude, double radiusMeters, int limit, Car.Type type
+    ) {
+        return grid.nearest(latitude, longitude, radiusMeters, limit,
+                type == null ? null : carType -> carType == type);
+    }
+
+    public void registerCar(Car car) {
+        CarPosition position = positionOf(car);
+        Long carId = car.getId();
+        TransactionCallbacks.afterCommit(() -> {
+            if (position == null) {
+                positions.remove(carId);
+                grid.remove(carId);
+            } else {
+                positions.put(carId, position);
+                updateGrid(carId, position);
+            }
+        });
+    }
+
+    public void removeCar(Long carId) {
+        TransactionCallbacks.afterCommit(() -> {
+            positions.remove(carId);
+            grid.remove(carId);
+        });
+    }
+
+    public void onUnitTaken(Long carId) {
+        TransactionCallbacks.afterCommit(() -> adjustUnits(carId, -1));
+    }
+
+    public void onUnitReleased(Long carId) {
+        TransactionCallbacks.afterCommit(() -> adjustUnits(carId, 1));
+    }
+
+    private void index(Car car) {
+        CarPosition position = positionOf(car);
+        if (position != null) {
+            positions.put(car.getId(), position);
+            updateGrid(car.getId(), position);
+        }
+    }
+
+    private void adjustUnits(Long carId, int delta) {
+        CarPosition position = positions.computeIfPresent(carId, (id, current) ->
+                current.withAvailableUnits(Math.max(0, current.availableUnits() + delta)));
+        if (position != null) {
+            updateGrid(carId, position);
+        }
+    }
+
+    private void updateGrid(Long carId, CarPosition position) {
+        if (position.availableUnits() > 0) {
+            grid.put(carId, position.latitude(), position.longitude(), position.type());
+        } else {
+            grid.remove(carId);
+        }
+    }
+
+    private static CarPosition positionOf(Car car) {
+        if (car.getLatitude() == null || car.getLongitude() == null) {
+            return null;
+        }
+        return new CarPosition(car.getLatitude(), car.getLongitude(), car.getType(),
+                car.getInventory());
+    }
+
+    private record CarPosition(double latitude, double longitude, Car.Type type,
+                               int availableUnits) {
+        private CarPosition withAvailableUnits(int units) {
+            return new CarPosition(latitude, longitude, type, units);
+        }
+    }
+}
@@ -1,15 +1,30 @@
 package carsharingapp.service.impl;
 
+import carsharingapp.config.CacheConfig;
 import carsharingapp.dto.CarRequestDto;
 import carsharingapp.dto.CarResponseDto;
+import carsharingapp.dto.CarScrollResponseDto;
+import carsharingapp.dto.NearbyCarResponseDto;
+import carsharingapp.event.CarChangedEvent;
 import carsharingapp.exception.EntityNotFoundException;
 import carsharingapp.mapper.CarMapper;
 import carsharingapp.model.Car;
 import carsharingapp.repository.CarRepository;
 import carsharingapp.service.CarService;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,43 +32,140 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 public class CarServiceImpl implements CarService {
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int MAX_NEARBY_LIMIT = 50;
+    private static final double MAX_NEARBY_RADIUS_METERS = 50_000;
+    private static final String CURSOR_PREFIX = "car:";
+    private static final Base64.Encoder CURSOR_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder CURSOR_DECODER = Base64.getUrlDecoder();
+
     private final CarMapper carMapper;
     private final CarRepository carRepository;
+    private final CarAvailabilityIndex carAvailabilityIndex;
+    private final CarLocationIndex carLocationIndex;
+    private final CarCatalogPages carCatalogPages;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CAR_PAGES_CACHE, allEntries = true)
     public CarResponseDto addNewCar(CarRequestDto requestDto) {
         checkIfCarTypeIsValid(requestDto.getType());
         Car car = carMapper.toModel(requestDto);
         carRepository.save(car);
+        carAvailabilityIndex.registerCar(car);
+        carLocationIndex.registerCar(car);
+        eventPublisher.publishEvent(new CarChangedEvent(car.getId()));
         return carMapper.toDto(car);
     }
 
     @Override
     public List<CarResponseDto> getAllCars(Pageable pageable) {
-        return carRepository.findAll(pageable).stream()
+        return carCatalogPages.findPage(pageable);
+    }
+
+    @Override
+    public CarScrollResponseDto scrollCars(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_SCROLL_SIZE);
+        List<Car> cars = carRepository.findNextPage(decodeCursor(cursor),
+                Limit.of(pageSize + 1));
+        boolean hasNext = cars.size() > pageSize;
+        List<Car> page = hasNext ? cars.subList(0, pageSize) : cars;
+        String nextCursor = hasNext ? encodeCursor(page.get(pageSize - 1).getId()) : null;
+        return new CarScrollResponseDto(page.stream()
                 .map(carMapper::toDto)
+                .toList(), nextCursor);
+    }
+
+    @Override
+    public List<CarResponseDto> getAvailableCars(LocalDate from, LocalDate to, String type) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' date must be before 'to' date");
+        }
+        if (from.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("'from' date can't be in the past");
+        }
+        Car.Type carType = null;
+        if (type != null) {
+            checkIfCarTypeIsValid(type);
+            carType = Car.Type.valueOf(type.toUpperCase());
+        }
+        List<Long> carIds = carAvailabilityIndex.findAvailableCarIds(from, to, carType);
+        if (carIds.isEmpty()) {
+            return List.of();
+        }
+        return carRepository.findAllById(carIds).stream()
+                .map(carMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    public List<NearbyCarResponseDto> getNearbyCars(double latitude, double longitude,
+                                                    double radiusMeters, String type,
+                                                    int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinates: " + latitude + ", "
+                    + longitude);
+        }
+        if (radiusMeters <= 0 || radiusMeters > MAX_NEARBY_RADIUS_METERS) {
+            throw new IllegalArgumentException("Radius must be between 0 and "
+                    + (int) MAX_NEARBY_RADIUS_METERS + " meters");
+        }
+        Car.Type carType = null;
+        if (type != null) {
+            checkIfCarTypeIsValid(type);
+            carType = Car.Type.valueOf(type.toUpperCase());
+        }
+        List<GeoGridIndex.Neighbor<Car.Type>> neighbors = carLocationIndex.findNearest(
+                latitude, longitude, radiusMeters,
+                Math.min(Math.max(limit, 1), MAX_NEARBY_LIMIT), carType);
+        if (neighbors.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Car> cars = carRepository.findAllById(neighbors.stream()
+                        .map(GeoGridIndex.Neighbor::id)
+                        .toList()).stream()
+                .collect(Collectors.toMap(Car::getId, Function.identity()));
+        return neighbors.stream()
+                .filter(neighbor -> cars.containsKey(neighbor.id()))
+                .map(neighbor -> new NearbyCarResponseDto(
+                        carMapper.toDto(cars.get(neighbor.id())), neighbor.distanceMeters()))
                 .toList();
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.CARS_CACHE, key = "#id", sync = true)
     public CarResponseDto getCarById(Long id) {
         return carMapper.toDto(findCarById(id));
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CAR_PAGES_CACHE, allEntries = true)
+    })
     public CarResponseDto updateCarById(Long id, CarRequestDto requestDto) {
         checkIfCarTypeIsValid(requestDto.getType());
         Car car = findCarById(id);
         car = carMapper.updateCar(requestDto, car);
         carRepository.save(car);
+        carAvailabilityIndex.registerCar(car);
+        carLocationIndex.registerCar(car);
+        eventPublisher.publishEvent(new CarChangedEvent(car.getId()));
         return carMapper.toDto(car);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CAR_PAGES_CACHE, allEntries = true)
+    })
     public void deleteCarById(Long id) {
         carRepository.deleteById(id);
+        carAvailabilityIndex.removeCar(id);
+        carLocationIndex.removeCar(id);
+        eventPublisher.publishEvent(new CarChangedEvent(id));
     }
 
     private static void checkIfCarTypeIsValid(String carType) {
@@ -66,6 +178,26 @@ public class CarServiceImpl implements CarService {
         }
     }
 
+    private static String encodeCursor(Long lastId) {
+        return CURSOR_ENCODER.encodeToString((CURSOR_PREFIX + lastId)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(CURSOR_DECODER.decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through to the invalid cursor error below
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+
     private Car findCarById(Long id) {
         return carRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("Can't find a car by this ID: " + id)
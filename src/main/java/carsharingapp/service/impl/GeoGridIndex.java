@@ -0,0 +1,168 @@
+package carsharingapp.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+public final class GeoGridIndex<T> {
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180;
+
+    private final double cellSizeDegrees;
+    private final Map<Long, Point<T>> points = new HashMap<>();
+    private final Map<Long, List<Point<T>>> cells = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public GeoGridIndex(double cellSizeDegrees) {
+        this.cellSizeDegrees = cellSizeDegrees;
+    }
+
+    public void put(long id, double latitude, double longitude, T payload) {
+        Point<T> point = new Point<>(id, latitude, longitude, payload,
+                cellKey(row(latitude), column(longitude)));
+        lock.writeLock().lock();
+        try {
+            removeUnderLock(id);
+            points.put(id, point);
+            cells.computeIfAbsent(point.cellKey(), key -> new ArrayList<>()).add(point);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnderLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            points.clear();
+            cells.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Neighbor<T>> nearest(double latitude, double longitude, double radiusMeters,
+                                     int limit, Predicate<T> filter) {
+        PriorityQueue<Neighbor<T>> best = new PriorityQueue<>(
+                Comparator.comparingDouble(Neighbor<T>::distanceMeters).reversed());
+        double cellHeightMeters = cellSizeDegrees * METERS_PER_DEGREE;
+        double farthestLatitude = Math.min(89.9,
+                Math.abs(latitude) + radiusMeters / METERS_PER_DEGREE);
+        double cellWidthMeters = cellHeightMeters * Math.cos(Math.toRadians(farthestLatitude));
+        double minCellMeters = Math.min(cellHeightMeters, cellWidthMeters);
+        int maxRing = (int) Math.ceil(radiusMeters / minCellMeters) + 1;
+        int centerRow = row(latitude);
+        int centerColumn = column(longitude);
+
+        lock.readLock().lock();
+        try {
+            for (int ring = 0; ring <= maxRing; ring++) {
+                double ringDistance = (ring - 1) * minCellMeters;
+                if (ringDistance > radiusMeters || best.size() == limit
+                        && ringDistance > best.peek().distanceMeters()) {
+                    break;
+                }
+                for (int dr = -ring; dr <= ring; dr++) {
+                    int step = Math.abs(dr) == ring ? 1 : 2 * ring;
+                    for (int dc = -ring; dc <= ring; dc += Math.max(step, 1)) {
+                        visitCell(centerRow + dr, centerColumn + dc, latitude, longitude,
+                                radiusMeters, limit, filter, best);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Neighbor<T>> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Neighbor::distanceMeters));
+        return result;
+    }
+
+    public static double distanceMeters(double latitude1, double longitude1,
+                                        double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void visitCell(int row, int column, double latitude, double longitude,
+                           double radiusMeters, int limit, Predicate<T> filter,
+                           PriorityQueue<Neighbor<T>> best) {
+        List<Point<T>> cell = cells.get(cellKey(row, column));
+        if (cell == null) {
+            return;
+        }
+        for (Point<T> point : cell) {
+            if (filter != null && !filter.test(point.payload())) {
+                continue;
+            }
+            double distance = distanceMeters(latitude, longitude,
+                    point.latitude(), point.longitude());
+            if (distance > radiusMeters) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Neighbor<>(point.id(), distance, point.payload()));
+            } else if (distance < best.peek().distanceMeters()) {
+                best.poll();
+                best.add(new Neighbor<>(point.id(), distance, point.payload()));
+            }
+        }
+    }
+
+    private void removeUnderLock(long id) {
+        Point<T> existing = points.remove(id);
+        if (existing != null) {
+            List<Point<T>> cell = cells.get(existing.cellKey());
+            cell.remove(existing);
+            if (cell.isEmpty()) {
+                cells.remove(existing.cellKey());
+            }
+        }
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellSizeDegrees);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor((longitude + 180) / cellSizeDegrees);
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    public record Neighbor<T>(long id, double distanceMeters, T payload) {
+    }
+
+    private record Point<T>(long id, double latitude, double longitude, T payload,
+                            long cellKey) {
+    }
+}
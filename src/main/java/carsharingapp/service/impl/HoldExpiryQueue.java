@@ -0,0 +1,129 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.event.CarChangedEvent;
+import carsharingapp.model.CarHold;
+import carsharingapp.repository.CarHoldRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Setter
+@Component
+@RequiredArgsConstructor
+public class HoldExpiryQueue {
+    private final CarHoldRepository carHoldRepository;
+    private final InventoryReservationService inventoryReservationService;
+    private final CarAvailabilityIndex carAvailabilityIndex;
+    private final CarLocationIndex carLocationIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final DelayQueue<ExpiringHold> expiringHolds = new DelayQueue<>();
+
+    @Value("${holds.expiry.retry-delay-ms:5000}")
+    private long retryDelayMillis = 5000;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "hold-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<CarHold> holds = carHoldRepository.findAll();
+        holds.forEach(hold -> expiringHolds.put(new ExpiringHold(hold.getId(), hold.getCarId(),
+                toEpochMillis(hold.getExpiresAt()))));
+        log.info("Scheduled expiry of {} car holds", holds.size());
+    }
+
+    public void schedule(CarHold hold) {
+        ExpiringHold expiringHold = new ExpiringHold(hold.getId(), hold.getCarId(),
+                toEpochMillis(hold.getExpiresAt()));
+        TransactionCallbacks.afterCommit(() -> expiringHolds.put(expiringHold));
+    }
+
+    public int size() {
+        return expiringHolds.size();
+    }
+
+    public boolean release(Long holdId, Long carId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (carHoldRepository.deleteHold(holdId) == 0) {
+                return false;
+            }
+            inventoryReservationService.release(carId);
+            carAvailabilityIndex.releaseHold(carId, holdId);
+            carLocationIndex.onUnitReleased(carId);
+            eventPublisher.publishEvent(new CarChangedEvent(carId));
+            return true;
+        }));
+    }
+
+    private void run() {
+        while (running) {
+            ExpiringHold hold;
+            try {
+                hold = expiringHolds.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                if (release(hold.holdId(), hold.carId())) {
+                    log.debug("Car hold {} expired", hold.holdId());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to expire car hold {}, retrying in {} ms", hold.holdId(),
+                        retryDelayMillis, e);
+                expiringHolds.put(new ExpiringHold(hold.holdId(), hold.carId(),
+                        System.currentTimeMillis() + retryDelayMillis));
+            }
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record ExpiringHold(Long holdId, Long carId, long expiresAtMillis)
+            implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((ExpiringHold) other).expiresAtMillis);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.dto.HoldRequestDto;
+import carsharingapp.dto.HoldResponseDto;
+import carsharingapp.event.CarChangedEvent;
+import carsharingapp.exception.CustomerAccessException;
+import carsharingapp.exception.EntityNotFoundException;
+import carsharingapp.exception.RentalException;
+import carsharingapp.model.CarHold;
+import carsharingapp.repository.CarHoldRepository;
+import carsharingapp.service.HoldService;
+import carsharingapp.service.UserService;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Setter
+@RequiredArgsConstructor
+public class HoldServiceImpl implements HoldService {
+    private static final String USER_HOLD_CONSTRAINT = "uq_car_holds_user_id";
+
+    private final CarHoldRepository carHoldRepository;
+    private final UserService userService;
+    private final InventoryReservationService inventoryReservationService;
+    private final HoldExpiryQueue holdExpiryQueue;
+    private final CarAvailabilityIndex carAvailabilityIndex;
+    private final CarLocationIndex carLocationIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${holds.ttl-seconds:600}")
+    private long ttlSeconds = 600;
+
+    @Override
+    @Transactional
+    public HoldResponseDto createHold(HoldRequestDto requestDto) {
+        return createHoldForUser(userService.getCurrentUser().getId(), requestDto.getCarId());
+    }
+
+    @Override
+    @Transactional
+    public HoldResponseDto createHoldForUser(Long userId, Long carId) {
+        if (carHoldRepository.existsByUserId(userId)) {
+            throw new RentalException("Sorry, but you already hold a car.");
+        }
+        inventoryReservationService.reserve(carId);
+        CarHold hold = saveHold(new CarHold()
+                .setCarId(carId)
+                .setUserId(userId)
+                .setExpiresAt(LocalDateTime.now().plusSeconds(ttlSeconds)));
+        holdExpiryQueue.schedule(hold);
+        carAvailabilityIndex.hold(carId, hold.getId());
+        carLocationIndex.onUnitTaken(carId);
+        eventPublisher.publishEvent(new CarChangedEvent(carId));
+        return new HoldResponseDto(hold.getId(), hold.getCarId(), hold.getExpiresAt());
+    }
+
+    @Override
+    @Transactional
+    public void cancelHold(Long holdId) {
+        CarHold hold = carHoldRepository.findById(holdId).orElseThrow(
+                () -> new EntityNotFoundException("Can't find a hold by ID: " + holdId));
+        if (!hold.getUserId().equals(userService.getCurrentUser().getId())) {
+            throw new CustomerAccessException("Access denied for hold ID: " + holdId);
+        }
+        holdExpiryQueue.release(hold.getId(), hold.getCarId());
+    }
+
+    private CarHold saveHold(CarHold hold) {
+        try {
+            return carHoldRepository.saveAndFlush(hold);
+        } catch (DataIntegrityViolationException e) {
+            if (isUserHoldViolation(e)) {
+                throw new RentalException("Sorry, but you already hold a car.");
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isUserHoldViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException cause
+                && cause.getConstraintName() != null
+                && cause.getConstraintName().toLowerCase().contains(USER_HOLD_CONSTRAINT);
+    }
+}
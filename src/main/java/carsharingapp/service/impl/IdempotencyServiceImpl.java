@@ -0,0 +1,292 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.exception.IdempotencyKeyReuseException;
+import carsharingapp.exception.RequestInProgressException;
+import carsharingapp.model.IdempotencyKey;
+import carsharingapp.repository.IdempotencyKeyRepository;
+import carsharingapp.service.IdempotencyService;
+import carsharingapp.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, StoredResponse> responses;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight =
+            new ConcurrentHashMap<>();
+    private final long waitTimeoutMs;
+    private final long pollIntervalMs;
+    private final long claimTimeoutMs;
+    private final long retentionHours;
+
+    public IdempotencyServiceImpl(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            UserService userService,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.cache.spec:maximumSize=10000,expireAfterWrite=24h}")
+            String cacheSpec,
+            @Value("${idempotency.wait-timeout-ms:30000}") long waitTimeoutMs,
+            @Value("${idempotency.poll-interval-ms:100}") long pollIntervalMs,
+            @Value("${idempotency.claim-timeout-ms:120000}") long claimTimeoutMs,
+            @Value("${idempotency.retention-hours:24}") long retentionHours
+    ) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.from(cacheSpec).build();
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.pollIntervalMs = pollIntervalMs;
+        this.claimTimeoutMs = claimTimeoutMs;
+        this.retentionHours = retentionHours;
+    }
+
+    @Override
+    public <T> T execute(String operation, String key, Object request, Class<T> responseType,
+                         Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must contain 1 to "
+                    + MAX_KEY_LENGTH + " characters");
+        }
+        Long userId = userService.getCurrentUserId();
+        String cacheKey = userId + ":" + operation + ":" + key;
+        String requestHash = hash(request);
+
+        StoredResponse cached = responses.getIfPresent(cacheKey);
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+        CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(cacheKey, pending);
+        if (running != null) {
+            return replay(await(running), requestHash, responseType);
+        }
+        try {
+            IdempotencyKey record = claimOrAwait(userId, operation, key, requestHash);
+            if (record.getStatus() == IdempotencyKey.Status.COMPLETED) {
+                StoredResponse stored = new StoredResponse(record.getRequestHash(),
+                        record.getResponseBody());
+                responses.put(cacheKey, stored);
+                pending.complete(stored);
+                return replay(stored, requestHash, responseType);
+            }
+            T response = run(record, action);
+            StoredResponse stored = complete(record, requestHash, response);
+            if (stored == null) {
+                pending.completeExceptionally(inProgress());
+                return response;
+            }
+            responses.put(cacheKey, stored);
+            pending.complete(stored);
+            return response;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, pending);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}",
+            initialDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = idempotencyKeyRepository.deleteCreatedBefore(
+                LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private IdempotencyKey claimOrAwait(Long userId, String operation, String key,
+                                        String requestHash) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+        while (true) {
+            IdempotencyKey existing = idempotencyKeyRepository
+                    .findByUserIdAndOperationAndKey(userId, operation, key)
+                    .orElse(null);
+            if (existing == null) {
+                IdempotencyKey claimed = claim(userId, operation, key, requestHash);
+                if (claimed != null) {
+                    return claimed;
+                }
+            } else if (!existing.getRequestHash().equals(requestHash)) {
+                throw reused();
+            } else if (existing.getStatus() == IdempotencyKey.Status.COMPLETED) {
+                return existing;
+            } else if (takeOverIfStale(existing)) {
+                return existing;
+            }
+            if (System.nanoTime() >= deadline) {
+                throw inProgress();
+            }
+            pause();
+        }
+    }
+
+    private IdempotencyKey claim(Long userId, String operation, String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            return idempotencyKeyRepository.saveAndFlush(new IdempotencyKey()
+                    .setUserId(userId)
+                    .setOperation(operation)
+                    .setKey(key)
+                    .setRequestHash(requestHash)
+                    .setStatus(IdempotencyKey.Status.IN_PROGRESS)
+                    .setClaimToken(UUID.randomUUID().toString())
+                    .setClaimedAt(now)
+                    .setCreatedAt(now));
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    private boolean takeOverIfStale(IdempotencyKey existing) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(claimTimeoutMs, ChronoUnit.MILLIS);
+        if (existing.getClaimedAt() != null && !existing.getClaimedAt().isBefore(staleBefore)) {
+            return false;
+        }
+        String claimToken = UUID.randomUUID().toString();
+        if (idempotencyKeyRepository.takeOver(existing.getId(), claimToken, now,
+                staleBefore) == 0) {
+            return false;
+        }
+        log.warn("Took over idempotency key {} of operation {} after its claim expired",
+                existing.getKey(), existing.getOperation());
+        existing.setClaimToken(claimToken).setClaimedAt(now);
+        return true;
+    }
+
+    private <T> T run(IdempotencyKey claimed, Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            try {
+                idempotencyKeyRepository.release(claimed.getId(), claimed.getClaimToken());
+            } catch (RuntimeException releaseException) {
+                e.addSuppressed(releaseException);
+                log.error("Can't release idempotency key {} for operation {}", claimed.getKey(),
+                        claimed.getOperation(), releaseException);
+            }
+            throw e;
+        }
+    }
+
+    private StoredResponse complete(IdempotencyKey claimed, String requestHash, Object response) {
+        StoredResponse stored;
+        try {
+            stored = new StoredResponse(requestHash, toJson(response));
+        } catch (RuntimeException e) {
+            log.error("Can't serialize the response for idempotency key {} of operation {}, the "
+                    + "key stays in progress until its claim expires",
+                    claimed.getKey(), claimed.getOperation(), e);
+            return null;
+        }
+        try {
+            if (idempotencyKeyRepository.complete(claimed.getId(), claimed.getClaimToken(),
+                    stored.body()) == 0) {
+                log.warn("Idempotency key {} of operation {} was taken over before it completed",
+                        claimed.getKey(), claimed.getOperation());
+            }
+        } catch (RuntimeException e) {
+            log.error("Can't store the response for idempotency key {} of operation {}, only "
+                    + "this instance replays it until the claim expires",
+                    claimed.getKey(), claimed.getOperation(), e);
+        }
+        return stored;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    private <T> T replay(StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw reused();
+        }
+        try {
+            return objectMapper.readValue(stored.body(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't read the stored response", e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't store the response", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Can't fingerprint the request", e);
+        }
+    }
+
+    private static IdempotencyKeyReuseException reused() {
+        return new IdempotencyKeyReuseException(
+                "This idempotency key was already used with a different request");
+    }
+
+    private static RequestInProgressException inProgress() {
+        return new RequestInProgressException(
+                "A request with this idempotency key is still being processed");
+    }
+
+    private record StoredResponse(String requestHash, String body) {
+    }
+}
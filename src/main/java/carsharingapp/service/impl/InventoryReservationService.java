@@ -0,0 +1,49 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.config.CacheConfig;
+import carsharingapp.exception.CarAvailableException;
+import carsharingapp.exception.RentalException;
+import carsharingapp.model.Car;
+import carsharingapp.repository.CarRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class InventoryReservationService {
+    private final CarRepository carRepository;
+    private final EntityManager entityManager;
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CARS_CACHE, key = "#carId")
+    public void reserve(Long carId) {
+        SecondLevelCacheLocks.lockUntilCompletion(entityManager, Car.class, carId);
+        if (carRepository.decrementInventory(carId) == 0) {
+            throw new CarAvailableException("Sorry, car with id "
+                    + carId + " is not available for the rent. Please take another one."
+            );
+        }
+        refreshLoadedCar(carId);
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CARS_CACHE, key = "#carId")
+    public void release(Long carId) {
+        SecondLevelCacheLocks.lockUntilCompletion(entityManager, Car.class, carId);
+        if (carRepository.incrementInventory(carId) == 0) {
+            throw new RentalException("Can't find a car by ID: " + carId);
+        }
+        refreshLoadedCar(carId);
+    }
+
+    private void refreshLoadedCar(Long carId) {
+        Car car = entityManager.getReference(Car.class, carId);
+        if (Hibernate.isInitialized(car)) {
+            entityManager.refresh(car);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.event.NotificationEnqueuedEvent;
+import carsharingapp.model.Notification;
+import carsharingapp.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+
+@Slf4j
+@Setter
+@Component
+@RequiredArgsConstructor
+public class NotificationDispatcher {
+    private static final int MAX_TRACKED_CHATS = 10_000;
+
+    private final NotificationRepository notificationRepository;
+    private final TelegramNotificationService telegramNotificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, LocalDateTime> nextSlotPerChat =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, LocalDateTime> eldest) {
+                    return size() > MAX_TRACKED_CHATS;
+                }
+            };
+
+    @Value("${notifications.dispatcher.queue-capacity:1000}")
+    private int queueCapacity = 1000;
+    @Value("${notifications.dispatcher.batch-size:20}")
+    private int batchSize = 20;
+    @Value("${notifications.dispatcher.sweep-interval-ms:5000}")
+    private long sweepIntervalMillis = 5000;
+    @Value("${notifications.dispatcher.max-attempts:5}")
+    private int maxAttempts = 5;
+    @Value("${notifications.dispatcher.initial-backoff-ms:2000}")
+    private long initialBackoffMillis = 2000;
+    @Value("${notifications.dispatcher.global-rate-per-second:30}")
+    private int globalRatePerSecond = 30;
+    @Value("${notifications.dispatcher.per-chat-interval-ms:1000}")
+    private long perChatIntervalMillis = 1000;
+    @Value("${notifications.dispatcher.claim-lease-ms:60000}")
+    private long claimLeaseMillis = 60_000;
+
+    private BlockingQueue<Long> enqueuedIds;
+    private Thread worker;
+    private volatile boolean running;
+    private long nextGlobalSlotNanos;
+    private volatile long nextThrottledSweepMillis = Long.MAX_VALUE;
+
+    @PostConstruct
+    public void start() {
+        enqueuedIds = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        worker = new Thread(this::run, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationEnqueued(NotificationEnqueuedEvent event) {
+        if (!enqueuedIds.offer(event.notificationId())) {
+            log.debug("Notification queue is full, notification {} waits for the next sweep",
+                    event.notificationId());
+        }
+    }
+
+    public void dispatchDue() {
+        List<Notification> due;
+        do {
+            due = claim(() -> notificationRepository.findDueForUpdate(
+                    Notification.Status.PENDING, LocalDateTime.now(), Limit.of(batchSize)));
+            dispatch(due);
+        } while (due.size() == batchSize && running);
+    }
+
+    public void dispatch(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        Map<Delivery, List<Long>> deliveries = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            dispatchOne(notification);
+            deliveries.computeIfAbsent(new Delivery(notification.getStatus(),
+                            notification.getAttempts(), notification.getNextAttemptAt()),
+                    delivery -> new ArrayList<>()).add(notification.getId());
+        }
+        deliveries.forEach((delivery, ids) -> notificationRepository.updateDelivery(ids,
+                delivery.status(), delivery.attempts(), delivery.nextAttemptAt()));
+    }
+
+    private List<Notification> claim(Supplier<List<Notification>> finder) {
+        return transactionTemplate.execute(status -> {
+            List<Notification> claimed = finder.get();
+            LocalDateTime leaseUntil = LocalDateTime.now()
+                    .plus(claimLeaseMillis, ChronoUnit.MILLIS);
+            claimed.forEach(notification -> notification.setNextAttemptAt(leaseUntil));
+            return claimed;
+        });
+    }
+
+    private void run() {
+        long lastSweep = 0;
+        while (running) {
+            try {
+                Long notificationId = enqueuedIds.poll(pollTimeoutMillis(),
+                        TimeUnit.MILLISECONDS);
+                if (notificationId != null) {
+                    List<Long> ids = new ArrayList<>(batchSize);
+                    ids.add(notificationId);
+                    enqueuedIds.drainTo(ids, batchSize - 1);
+                    dispatch(claim(() -> notificationRepository.findDueByIdsForUpdate(ids,
+                            Notification.Status.PENDING, LocalDateTime.now())));
+                }
+                long now = System.currentTimeMillis();
+                if (now - lastSweep >= sweepIntervalMillis || now >= nextThrottledSweepMillis) {
+                    nextThrottledSweepMillis = Long.MAX_VALUE;
+                    dispatchDue();
+                    lastSweep = System.currentTimeMillis();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Notification dispatch failed, retrying on the next sweep", e);
+            }
+        }
+    }
+
+    private long pollTimeoutMillis() {
+        long untilThrottledSweep = nextThrottledSweepMillis - System.currentTimeMillis();
+        return Math.max(0, Math.min(sweepIntervalMillis, untilThrottledSweep));
+    }
+
+    // a throttled row goes back to the table due at its chat slot instead of waiting in memory
+    private void dispatchOne(Notification notification) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextSlot = nextSlotPerChat.get(notification.getChatId());
+        if (nextSlot != null && nextSlot.isAfter(now)) {
+            notification.setNextAttemptAt(nextSlot);
+            nextThrottledSweepMillis = Math.min(nextThrottledSweepMillis,
+                    System.currentTimeMillis() + ChronoUnit.MILLIS.between(now, nextSlot));
+            return;
+        }
+        nextSlotPerChat.put(notification.getChatId(),
+                now.plus(perChatIntervalMillis, ChronoUnit.MILLIS));
+        send(notification, now);
+    }
+
+    private void send(Notification notification, LocalDateTime now) {
+        awaitGlobalSlot();
+        try {
+            telegramNotificationService.deliver(notification.getChatId(),
+                    notification.getMessage());
+            notification.setStatus(Notification.Status.SENT);
+        } catch (TelegramApiException | RuntimeException e) {
+            scheduleRetry(notification, now, e);
+        }
+    }
+
+    private void scheduleRetry(Notification notification, LocalDateTime now, Exception cause) {
+        int attempts = notification.getAttempts() + 1;
+        notification.setAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            notification.setStatus(Notification.Status.FAILED);
+            log.warn("Giving up on Telegram notification {} after {} attempts",
+                    notification.getId(), attempts, cause);
+            return;
+        }
+        long backoffMillis = initialBackoffMillis << (attempts - 1);
+        notification.setNextAttemptAt(now.plus(backoffMillis, ChronoUnit.MILLIS));
+        log.info("Failed to send Telegram notification {}, retrying in {} ms",
+                notification.getId(), backoffMillis, cause);
+    }
+
+    private void awaitGlobalSlot() {
+        long now = System.nanoTime();
+        if (nextGlobalSlotNanos > now) {
+            LockSupport.parkNanos(nextGlobalSlotNanos - now);
+            now = nextGlobalSlotNanos;
+        }
+        nextGlobalSlotNanos = now + TimeUnit.SECONDS.toNanos(1) / globalRatePerSecond;
+    }
+
+    private record Delivery(Notification.Status status, int attempts,
+                            LocalDateTime nextAttemptAt) {
+    }
+}
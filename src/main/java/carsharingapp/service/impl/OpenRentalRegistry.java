@@ -0,0 +1,70 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.dto.RentalBookingDto;
+import carsharingapp.repository.RentalRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenRentalRegistry {
+    private final RentalRepository rentalRepository;
+    private final Map<Long, Set<Long>> openRentalsByCar = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<RentalBookingDto> bookings = rentalRepository.findOpenBookings();
+        openRentalsByCar.clear();
+        bookings.forEach(booking -> add(booking.carId(), booking.rentalId()));
+        log.info("Open rental registry built with {} rentals", bookings.size());
+    }
+
+    public Long findRentalId(Long carId, Long reportedRentalId) {
+        Set<Long> rentalIds = openRentalsByCar.get(carId);
+        if (rentalIds == null) {
+            return null;
+        }
+        if (reportedRentalId != null) {
+            return rentalIds.contains(reportedRentalId) ? reportedRentalId : null;
+        }
+        if (rentalIds.size() != 1) {
+            return null;
+        }
+        for (Long rentalId : rentalIds) {
+            return rentalId;
+        }
+        return null;
+    }
+
+    public boolean hasOpenRental(Long carId) {
+        return openRentalsByCar.containsKey(carId);
+    }
+
+    public void register(Long carId, Long rentalId) {
+        TransactionCallbacks.afterCommit(() -> add(carId, rentalId));
+    }
+
+    public void unregister(Long carId, Long rentalId) {
+        TransactionCallbacks.afterCommit(() -> openRentalsByCar.computeIfPresent(carId,
+                (id, rentalIds) -> {
+                    rentalIds.remove(rentalId);
+                    return rentalIds.isEmpty() ? null : rentalIds;
+                }));
+    }
+
+    private void add(Long carId, Long rentalId) {
+        openRentalsByCar.compute(carId, (id, rentalIds) -> {
+            Set<Long> updated = rentalIds != null ? rentalIds : ConcurrentHashMap.newKeySet();
+            updated.add(rentalId);
+            return updated;
+        });
+    }
+}
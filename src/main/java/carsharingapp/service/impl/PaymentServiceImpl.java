@@ -2,7 +2,6 @@ package carsharingapp.service.impl;
 
 import carsharingapp.dto.PaymentRequestDto;
 import carsharingapp.dto.PaymentResponseDto;
-import carsharingapp.exception.CreateSessionException;
 import carsharingapp.exception.CustomerAccessException;
 import carsharingapp.exception.PaidPaymentException;
 import carsharingapp.mapper.PaymentMapper;
@@ -10,15 +9,14 @@ import carsharingapp.model.Payment;
 import carsharingapp.model.Rental;
 import carsharingapp.model.Role;
 import carsharingapp.model.User;
+import carsharingapp.monitoring.TimedCall;
 import carsharingapp.repository.PaymentRepository;
 import carsharingapp.repository.RentalRepository;
-import carsharingapp.security.JwtUtil;
 import carsharingapp.service.PaymentService;
 import carsharingapp.service.UserService;
-import com.stripe.Stripe;
-import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
 import com.stripe.param.checkout.SessionCreateParams;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.net.MalformedURLException;
@@ -28,45 +26,31 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @Service
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 
-    private static final BigDecimal FINE_MULTIPLIER = new BigDecimal("1.5");
     private static final String CURRENCY = "usd";
 
-    @Value("${stripe.secret.key}")
-    private String stripeSecretKey;
-
     private final RentalRepository rentalRepository;
     private final PaymentRepository paymentRepository;
     private final PaymentMapper paymentMapper;
     private final UserService userService;
     private final TelegramNotificationService notificationService;
-    private final JwtUtil jwtUtil;
+    private final StripeSessionGateway stripeSessionGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Override
-    @Transactional
     public PaymentResponseDto createPayment(PaymentRequestDto requestDto,
                                             UriComponentsBuilder uriBuilder) {
-        Rental rental = validateAndRetrieveRental(requestDto.getRentalId());
-        Payment payment = initializePayment(rental);
-
-        BigDecimal amountToPay = calculateAmountToPay(rental);
-        Session stripeSession = createStripeSession(payment, amountToPay, uriBuilder);
-
-        updatePayment(payment, stripeSession, amountToPay);
-        paymentRepository.save(payment);
-
-        User user = userService.getCurrentUser();
-        notificationService.sendNotification(user.getTelegramChatId(),
-                "Rental with id " + rental.getId() + " was successfully paid");
-        return paymentMapper.toDto(payment);
+        return TimedCall.record(meterRegistry, "payments.create",
+                () -> processPayment(requestDto, uriBuilder));
     }
 
     @Override
@@ -80,25 +64,60 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional
     public void verifySuccessfulPayment(Long paymentId) {
+        TimedCall.record(meterRegistry, "payments.verify", () -> markPaid(paymentId));
+    }
+
+    private PaymentResponseDto processPayment(PaymentRequestDto requestDto,
+                                              UriComponentsBuilder uriBuilder) {
+        PendingPayment pending = transactionTemplate.execute(status ->
+                preparePendingPayment(requestDto.getRentalId()));
+
+        Session stripeSession = stripeSessionGateway.createSession(
+                buildSessionParams(pending, uriBuilder));
+
+        Payment payment = transactionTemplate.execute(status ->
+                recordSession(pending, stripeSession));
+        return paymentMapper.toDto(payment);
+    }
+
+    private Payment markPaid(Long paymentId) {
         Payment payment = findPaymentById(paymentId);
         validateUserAccess(payment.getRental().getUser().getId());
         payment.setStatus(Payment.Status.PAID);
-        paymentRepository.save(payment);
+        return paymentRepository.save(payment);
     }
 
-    private Rental validateAndRetrieveRental(Long rentalId) {
+    private Rental validateAndRetrieveRental(Long rentalId, User user) {
         Rental rental = rentalRepository.findById(rentalId)
                 .orElseThrow(() ->
                         new EntityNotFoundException("Can't find rental with ID: " + rentalId));
-        checkUserIsRentalOwner(rental);
+        checkUserIsRentalOwner(rental, user);
         checkRentalIsClosed(rental);
-        checkPaymentIsDone(rental);
         return rental;
     }
 
-    private void checkUserIsRentalOwner(Rental rental) {
-        System.out.println("Checking rental owner for rental: {}" + rental.getUser());
+    private PendingPayment preparePendingPayment(Long rentalId) {
         User user = userService.getCurrentUser();
+        Rental rental = validateAndRetrieveRental(rentalId, user);
+        Payment payment = findUnpaidPayment(rental).orElseGet(() -> initializePayment(rental));
+        BigDecimal amountToPay = RentalPricing.amountToPay(rental);
+        payment.setAmountToPay(amountToPay);
+        Payment saved = paymentRepository.save(payment);
+        return new PendingPayment(saved.getId(), rental.getId(), amountToPay,
+                user.getTelegramChatId());
+    }
+
+    private Payment recordSession(PendingPayment pending, Session session) {
+        Payment payment = findPaymentById(pending.paymentId());
+        updatePayment(payment, session, pending.amountToPay());
+        paymentRepository.save(payment);
+
+        notificationService.sendNotification(pending.chatId(),
+                "Rental with id " + pending.rentalId() + " was successfully paid");
+        return payment;
+    }
+
+    private void checkUserIsRentalOwner(Rental rental, User user) {
         if (!rental.getUser().getId().equals(user.getId())) {
             throw new PaidPaymentException("You can't pay for other users' rentals");
         }
@@ -111,32 +130,14 @@ public class PaymentServiceImpl implements PaymentService {
         }
     }
 
-    private void checkPaymentIsDone(Rental rental) {
-        Optional<Payment> existingPayment = paymentRepository.findByRentalId(rental.getId())
-                .filter(payment -> payment.getStatus() == Payment.Status.PAID);
-        if (existingPayment.isPresent()) {
+    private Optional<Payment> findUnpaidPayment(Rental rental) {
+        Optional<Payment> existingPayment = paymentRepository.findByRentalId(rental.getId());
+        if (existingPayment.filter(payment ->
+                payment.getStatus() == Payment.Status.PAID).isPresent()) {
             throw new PaidPaymentException("Rental with ID " + rental.getId()
                     + " has already been paid.");
         }
-    }
-
-    private BigDecimal calculateAmountToPay(Rental rental) {
-        BigDecimal dailyFee = rental.getCar().getDailyFee();
-        long rentalDuration = ChronoUnit.DAYS.between(rental.getRentalDate(),
-                rental.getActualReturnDate());
-        if (isRentalClosedLate(rental)) {
-            long overdueDays = ChronoUnit.DAYS.between(rental.getReturnDate(),
-                    rental.getActualReturnDate());
-            return dailyFee.multiply(BigDecimal.valueOf(rentalDuration))
-                    .add(dailyFee.multiply(FINE_MULTIPLIER)
-                            .multiply(BigDecimal.valueOf(overdueDays)));
-        } else {
-            return dailyFee.multiply(BigDecimal.valueOf(Math.max(1, rentalDuration)));
-        }
-    }
-
-    private static boolean isRentalClosedLate(Rental rental) {
-        return rental.getActualReturnDate().isAfter(rental.getReturnDate());
+        return existingPayment;
     }
 
     private Payment initializePayment(Rental rental) {
@@ -148,30 +149,22 @@ public class PaymentServiceImpl implements PaymentService {
         return payment;
     }
 
-    private Session createStripeSession(Payment payment, BigDecimal amountToPay,
-                                        UriComponentsBuilder uriBuilder) {
-        Stripe.apiKey = stripeSecretKey;
+    private SessionCreateParams buildSessionParams(PendingPayment pending,
+                                                   UriComponentsBuilder uriBuilder) {
+        String successUrl = buildUri(uriBuilder, "/payments/success/", pending.paymentId());
+        String cancelUrl = buildUri(uriBuilder, "/payments/cancel/", pending.paymentId());
 
-        String successUrl = buildUri(uriBuilder, "/payments/success/", payment.getId());
-        String cancelUrl = buildUri(uriBuilder, "/payments/cancel/", payment.getId());
-
-        SessionCreateParams params = SessionCreateParams.builder()
+        return SessionCreateParams.builder()
                 .setMode(SessionCreateParams.Mode.PAYMENT)
                 .setSuccessUrl(successUrl)
                 .setCancelUrl(cancelUrl)
-                .addLineItem(createLineItemParams(amountToPay))
+                .addLineItem(createLineItemParams(pending.amountToPay()))
                 .setExpiresAt(Instant.now().plus(1, ChronoUnit.DAYS).getEpochSecond())
                 .build();
-
-        try {
-            return Session.create(params);
-        } catch (StripeException e) {
-            throw new CreateSessionException("Can't create payment session");
-        }
     }
 
     private String buildUri(UriComponentsBuilder uriBuilder, String path, Long id) {
-        return uriBuilder.path(path).path(String.valueOf(id)).toUriString();
+        return uriBuilder.cloneBuilder().path(path).path(String.valueOf(id)).toUriString();
     }
 
     private SessionCreateParams.LineItem createLineItemParams(BigDecimal amountToPay) {
@@ -217,4 +210,8 @@ public class PaymentServiceImpl implements PaymentService {
                 .orElseThrow(() -> new EntityNotFoundException("Payment with ID "
                         + paymentId + " not found"));
     }
+
+    private record PendingPayment(Long paymentId, Long rentalId, BigDecimal amountToPay,
+                                  Long chatId) {
+    }
 }
@@ -0,0 +1,31 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.model.Rental;
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+
+public final class RentalPricing {
+    private static final BigDecimal FINE_MULTIPLIER = new BigDecimal("1.5");
+
+    private RentalPricing() {
+    }
+
+    public static BigDecimal amountToPay(Rental rental) {
+        BigDecimal dailyFee = rental.getCar().getDailyFee();
+        long rentalDuration = ChronoUnit.DAYS.between(rental.getRentalDate(),
+                rental.getActualReturnDate());
+        if (isClosedLate(rental)) {
+            long overdueDays = ChronoUnit.DAYS.between(rental.getReturnDate(),
+                    rental.getActualReturnDate());
+            return dailyFee.multiply(BigDecimal.valueOf(rentalDuration))
+                    .add(dailyFee.multiply(FINE_MULTIPLIER)
+                            .multiply(BigDecimal.valueOf(overdueDays)));
+        } else {
+            return dailyFee.multiply(BigDecimal.valueOf(Math.max(1, rentalDuration)));
+        }
+    }
+
+    private static boolean isClosedLate(Rental rental) {
+        return rental.getActualReturnDate().isAfter(rental.getReturnDate());
+    }
+}
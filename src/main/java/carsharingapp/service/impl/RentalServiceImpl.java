@@ -1,58 +1,79 @@
 package carsharingapp.service.impl;
 
+import carsharingapp.dto.OverdueRentalDto;
 import carsharingapp.dto.RentalRequestDto;
 import carsharingapp.dto.RentalResponseDto;
-import carsharingapp.exception.CarAvailableException;
+import carsharingapp.dto.RentalSearchParametersDto;
+import carsharingapp.dto.TripPointDto;
+import carsharingapp.event.CarChangedEvent;
 import carsharingapp.exception.RentalException;
 import carsharingapp.mapper.RentalMapper;
 import carsharingapp.model.Car;
 import carsharingapp.model.Rental;
 import carsharingapp.model.User;
+import carsharingapp.monitoring.TimedCall;
+import carsharingapp.repository.CarHoldRepository;
 import carsharingapp.repository.CarRepository;
 import carsharingapp.repository.RentalRepository;
+import carsharingapp.repository.RentalSpecificationBuilder;
 import carsharingapp.repository.UserRepository;
 import carsharingapp.service.RentalService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @Setter
 @RequiredArgsConstructor
 public class RentalServiceImpl implements RentalService {
+    private static final String OPEN_RENTAL_CONSTRAINT = "uq_rentals_user_open";
+    private static final String OVERDUE_HEADER = "Overdue rentals with ids: ";
+    private static final int TELEGRAM_MESSAGE_LIMIT = 4096;
+
     private final CarRepository carRepository;
+    private final CarHoldRepository carHoldRepository;
     private final RentalRepository rentalRepository;
     private final UserRepository userRepository;
     private final RentalMapper rentalMapper;
     private final TelegramNotificationService notificationService;
+    private final InventoryReservationService inventoryReservationService;
+    private final CarAvailabilityIndex carAvailabilityIndex;
+    private final CarLocationIndex carLocationIndex;
+    private final OpenRentalRegistry openRentalRegistry;
+    private final TripLogStore tripLogStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     @Value("${telegram.chat.id}")
     private String chatId;
+    @Value("${rentals.overdue.scan.chunk-size:500}")
+    private int overdueScanChunkSize = 500;
 
     @Override
     @Transactional
     public RentalResponseDto save(
             RentalRequestDto requestDto
     ) {
-        User user = userRepository.getReferenceById(requestDto.getUserId());
-        checkUserHasOpenRentals(user);
-        Car car = findCarById(requestDto.getCarId());
-        checkIsCarAvailable(car);
-        car.setInventory(car.getInventory() - 1);
-        carRepository.save(car);
-
-        Rental rental = createNewRental(requestDto, car, user);
-        rentalRepository.save(rental);
-        Long chatId = user.getTelegramChatId();
-        String username = user.getUsername();
-        notificationService.sendNotification(chatId,
-                "New rental created for user " + username);
-        return rentalMapper.toDto(rental);
+        return TimedCall.record(meterRegistry, "rentals.create", () -> createRental(requestDto));
     }
 
     @Override
@@ -65,62 +86,146 @@ public class RentalServiceImpl implements RentalService {
     @Override
     @Transactional
     public RentalResponseDto setActualReturnDate(Long rentalId) {
+        return TimedCall.record(meterRegistry, "rentals.return", () -> returnRental(rentalId));
+    }
+
+    private RentalResponseDto createRental(RentalRequestDto requestDto) {
+        User user = userRepository.getReferenceById(requestDto.getUserId());
+        Car car = findCarById(requestDto.getCarId());
+        if (requestDto.getHoldId() != null) {
+            consumeHold(requestDto);
+            carAvailabilityIndex.releaseHold(car.getId(), requestDto.getHoldId());
+        } else {
+            inventoryReservationService.reserve(car.getId());
+            carLocationIndex.onUnitTaken(car.getId());
+        }
+
+        Rental rental = createNewRental(requestDto, car, user);
+        saveOpenRental(rental);
+        carAvailabilityIndex.book(car.getId(), rental.getId(), rental.getRentalDate(),
+                rental.getReturnDate());
+        openRentalRegistry.register(car.getId(), rental.getId());
+        eventPublisher.publishEvent(new CarChangedEvent(car.getId()));
+        Long chatId = user.getTelegramChatId();
+        String username = user.getUsername();
+        notificationService.sendNotification(chatId,
+                "New rental created for user " + username);
+        return rentalMapper.toDto(rental);
+    }
+
+    private RentalResponseDto returnRental(Long rentalId) {
         Rental rental = findRentalById(rentalId);
         checkRentalIsClosed(rental);
         rental.setActualReturnDate(LocalDate.now());
         rentalRepository.save(rental);
 
-        Car car = findCarById(rental.getCar().getId());
-        car.setInventory(car.getInventory() + 1);
-        carRepository.save(car);
+        inventoryReservationService.release(rental.getCar().getId());
+        carAvailabilityIndex.release(rental.getCar().getId(), rental.getId());
+        carLocationIndex.onUnitReleased(rental.getCar().getId());
+        openRentalRegistry.unregister(rental.getCar().getId(), rental.getId());
+        eventPublisher.publishEvent(new CarChangedEvent(rental.getCar().getId()));
         notificationService.sendNotification(rental.getUser().getTelegramChatId(),
                 "You have just returned the rental ");
         return rentalMapper.toDto(rental);
     }
 
     @Override
-    @Transactional
-    public List<RentalResponseDto> getRentalsByUserId(
-            Long userId, Boolean isActive
+    @Transactional(readOnly = true)
+    public List<TripPointDto> getTrip(Long rentalId) {
+        findRentalById(rentalId);
+        List<TripPointDto> trip = new ArrayList<>();
+        tripLogStore.replay(rentalId, sample -> trip.add(new TripPointDto(
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(sample.epochMillis()),
+                        ZoneId.systemDefault()),
+                sample.latitudeE6() / 1_000_000.0,
+                sample.longitudeE6() / 1_000_000.0)));
+        return trip;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RentalResponseDto> search(
+            RentalSearchParametersDto searchParameters, Pageable pageable
     ) {
-        return rentalRepository.findAll().stream()
-                .filter(rental -> userId == null || rental.getUser().getId().equals(userId))
-                .filter(rental -> {
-                    if (isActive == null) {
-                        return true;
-                    }
-                    return isActive ? rental.getActualReturnDate() == null :
-                            rental.getActualReturnDate() != null;
-                })
+        return rentalRepository.findSliceWithCar(
+                        RentalSpecificationBuilder.build(searchParameters), pageable)
+                .stream()
                 .map(rentalMapper::toDto)
                 .toList();
     }
 
     @Scheduled(cron = "0 0 6 * * *")
     public void checkOverdueRentals() {
-        List<Rental> overdueRentals =
-                rentalRepository.findAll()
-                .stream()
-                .filter(rental -> rental.getReturnDate().isBefore(LocalDate.now())
-                        && rental.getActualReturnDate() == null)
-                .toList();
+        Timer.Sample scanSample = Timer.start(meterRegistry);
+        LocalDate today = LocalDate.now();
+        Limit chunk = Limit.of(overdueScanChunkSize);
+        long overdueCount = 0;
+        List<OverdueRentalDto> overdueRentals =
+                rentalRepository.findFirstOverdueRentals(today, chunk);
+        while (!overdueRentals.isEmpty()) {
+            notifyOverdue(overdueRentals);
+            overdueCount += overdueRentals.size();
+            meterRegistry.counter("rentals.overdue.scan.processed")
+                    .increment(overdueRentals.size());
+            log.debug("Overdue rental scan processed {} rentals so far", overdueCount);
+            if (overdueRentals.size() < overdueScanChunkSize) {
+                break;
+            }
+            OverdueRentalDto last = overdueRentals.get(overdueRentals.size() - 1);
+            overdueRentals = rentalRepository.findOverdueRentalsAfter(today, last.returnDate(),
+                    last.rentalId(), chunk);
+        }
 
-        if (overdueRentals.isEmpty()) {
+        if (overdueCount == 0) {
             notificationService.sendNotification(Long.valueOf(chatId),
                     "No rentals overdue today!");
-        } else {
-            for (Rental rental : overdueRentals) {
-                notificationService.sendNotification(Long.valueOf(chatId),
-                        "Overdue rental with id: " + rental.getId());
+        }
+        long durationNanos = scanSample.stop(meterRegistry.timer("rentals.overdue.scan"));
+        log.info("Overdue rental scan found {} rentals in {} ms", overdueCount,
+                TimeUnit.NANOSECONDS.toMillis(durationNanos));
+    }
+
+    // one message per chunk, split only where Telegram's message limit requires it
+    private void notifyOverdue(List<OverdueRentalDto> overdueRentals) {
+        StringBuilder message = new StringBuilder(OVERDUE_HEADER);
+        for (OverdueRentalDto overdueRental : overdueRentals) {
+            String rentalId = String.valueOf(overdueRental.rentalId());
+            if (message.length() + rentalId.length() + 2 > TELEGRAM_MESSAGE_LIMIT) {
+                notificationService.sendNotification(Long.valueOf(chatId), message.toString());
+                message.setLength(0);
+                message.append(OVERDUE_HEADER);
+            }
+            if (message.length() > OVERDUE_HEADER.length()) {
+                message.append(", ");
             }
+            message.append(rentalId);
         }
+        notificationService.sendNotification(Long.valueOf(chatId), message.toString());
     }
 
-    @Override
-    public void checkUserHasOpenRentals(User user) {
-        List<Rental> rentalList = rentalRepository.findOpenRental(user.getId());
-        if (!rentalList.isEmpty()) {
-            throw new RentalException("Sorry, but you already have open rental.");
+    private void saveOpenRental(Rental rental) {
+        try {
+            rentalRepository.saveAndFlush(rental);
+        } catch (DataIntegrityViolationException e) {
+            if (isOpenRentalViolation(e)) {
+                throw new RentalException("Sorry, but you already have open rental.");
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isOpenRentalViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException cause
+                && cause.getConstraintName() != null
+                && cause.getConstraintName().toLowerCase().contains(OPEN_RENTAL_CONSTRAINT);
+    }
+
+    private void consumeHold(RentalRequestDto requestDto) {
+        int consumed = carHoldRepository.deleteActiveHold(requestDto.getHoldId(),
+                requestDto.getCarId(), requestDto.getUserId(), LocalDateTime.now());
+        if (consumed == 0) {
+            throw new RentalException("Hold " + requestDto.getHoldId()
+                    + " has expired or does not match this car and user.");
         }
     }
 
@@ -135,14 +240,6 @@ public class RentalServiceImpl implements RentalService {
                 .setCar(car);
     }
 
-    private static void checkIsCarAvailable(Car car) {
-        if (car.getInventory() == 0) {
-            throw new CarAvailableException("Sorry, car with id "
-                    + car.getId() + " is not available for the rent. Please take another one."
-            );
-        }
-    }
-
     private Car findCarById(Long carId) {
         return carRepository.findById(carId).orElseThrow(
                 () -> new RentalException("Can't find a car by ID: " + carId)
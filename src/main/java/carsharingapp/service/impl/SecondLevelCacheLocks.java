@@ -0,0 +1,30 @@
+package carsharingapp.service.impl;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+public final class SecondLevelCacheLocks {
+    private SecondLevelCacheLocks() {
+    }
+
+    public static void lockUntilCompletion(EntityManager entityManager, Class<?> entityType,
+                                           Object id) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        SessionFactoryImplementor factory = session.getFactory();
+        EntityPersister persister = factory.getMappingMetamodel()
+                .getEntityDescriptor(entityType);
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        EntityDataAccess cacheAccess = persister.getCacheAccessStrategy();
+        Object key = cacheAccess.generateCacheKey(id, persister, factory,
+                session.getTenantIdentifier());
+        SoftLock lock = cacheAccess.lockItem(session, key, null);
+        session.getActionQueue().registerProcess((success, completedSession) ->
+                cacheAccess.unlockItem(completedSession, key, lock));
+    }
+}
@@ -0,0 +1,145 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.exception.CreateSessionException;
+import carsharingapp.monitoring.TimedCall;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.checkout.SessionCreateParams;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class StripeSessionGateway {
+    private final RequestOptions requestOptions;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+    private volatile long openUntilMillis;
+
+    public StripeSessionGateway(
+            @Value("${stripe.secret.key}") String secretKey,
+            @Value("${stripe.client.pool-size:8}") int poolSize,
+            @Value("${stripe.client.queue-capacity:32}") int queueCapacity,
+            @Value("${stripe.client.timeout-ms:10000}") long timeoutMillis,
+            @Value("${stripe.client.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${stripe.client.circuit-breaker.open-ms:30000}") long openMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.requestOptions = RequestOptions.builder()
+                .setApiKey(secretKey)
+                .setConnectTimeout((int) timeoutMillis)
+                .setReadTimeout((int) timeoutMillis)
+                .build();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("stripe-client-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Session createSession(SessionCreateParams params) {
+        boolean trial = acquirePermission();
+        Future<Session> future;
+        try {
+            future = executor.submit(() -> TimedCall.record(meterRegistry,
+                    "stripe.session.create", () -> Session.create(params, requestOptions)));
+        } catch (RejectedExecutionException e) {
+            if (trial) {
+                trialInFlight.set(false);
+            }
+            meterRegistry.counter("stripe.session.rejected", "reason", "busy").increment();
+            throw new CreateSessionException("Payment provider is busy, please try again later");
+        }
+        try {
+            Session session = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            onSuccess();
+            return session;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            meterRegistry.counter("stripe.session.timeouts").increment();
+            onFailure(trial);
+            throw new CreateSessionException("Payment provider didn't respond in time");
+        } catch (ExecutionException e) {
+            if (isProviderFailure(e.getCause())) {
+                onFailure(trial);
+            } else {
+                onSuccess();
+            }
+            throw new CreateSessionException("Can't create payment session");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            if (trial) {
+                trialInFlight.set(false);
+            }
+            throw new CreateSessionException("Can't create payment session");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean acquirePermission() {
+        long openUntil = openUntilMillis;
+        if (openUntil == 0) {
+            return false;
+        }
+        if (System.currentTimeMillis() >= openUntil && trialInFlight.compareAndSet(false, true)) {
+            return true;
+        }
+        meterRegistry.counter("stripe.session.rejected", "reason", "circuit-open").increment();
+        throw new CreateSessionException(
+                "Payment provider is temporarily unavailable, please try again later");
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        openUntilMillis = 0;
+        trialInFlight.set(false);
+    }
+
+    private void onFailure(boolean trial) {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold || trial) {
+            openUntilMillis = System.currentTimeMillis() + openMillis;
+            log.warn("Stripe circuit breaker opened for {} ms after {} consecutive failures",
+                    openMillis, consecutiveFailures.get());
+        }
+        trialInFlight.set(false);
+    }
+
+    private static boolean isProviderFailure(Throwable cause) {
+        if (cause instanceof ApiConnectionException) {
+            return true;
+        }
+        if (cause instanceof StripeException stripeException) {
+            Integer statusCode = stripeException.getStatusCode();
+            return statusCode == null || statusCode >= 500 || statusCode == 429;
+        }
+        return true;
+    }
+}
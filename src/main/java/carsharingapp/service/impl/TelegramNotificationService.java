@@ -1,8 +1,15 @@
 package carsharingapp.service.impl;
 
+import carsharingapp.event.NotificationEnqueuedEvent;
+import carsharingapp.model.Notification;
+import carsharingapp.monitoring.TimedCall;
+import carsharingapp.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.telegram.telegrambots.bots.TelegramLongPollingBot;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
@@ -15,23 +22,34 @@ import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 public class TelegramNotificationService extends TelegramLongPollingBot {
 
     private final UserServiceImpl userService;
+    private final NotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     @Value("${telegram.bot.token}")
     private String botToken;
 
     public void sendNotification(Long chatId, String message) {
-        sendMessage(chatId, message);
+        if (chatId == null) {
+            log.debug("Skipping Telegram notification for a user without a chat ID");
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Notification notification = new Notification()
+                .setChatId(chatId)
+                .setMessage(message)
+                .setStatus(Notification.Status.PENDING)
+                .setNextAttemptAt(now)
+                .setCreatedAt(now);
+        notificationRepository.save(notification);
+        eventPublisher.publishEvent(new NotificationEnqueuedEvent(notification.getId()));
     }
 
-    public void sendMessage(Long chatId, String text) {
+    public void deliver(Long chatId, String text) throws TelegramApiException {
         SendMessage message = new SendMessage();
         message.setChatId(chatId.toString());
         message.setText(text);
-        try {
-            execute(message);
-        } catch (TelegramApiException e) {
-            log.info("Failed to send Telegram message", e);
-        }
+        TimedCall.record(meterRegistry, "telegram.send", () -> execute(message));
     }
 
     @Override
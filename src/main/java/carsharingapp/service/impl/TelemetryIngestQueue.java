@@ -0,0 +1,208 @@
+package carsharingapp.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Setter
+@Component
+public class TelemetryIngestQueue {
+    private static final String INSERT_SQL = "INSERT INTO car_telemetry (car_id, rental_id, "
+            + "recorded_at, latitude, longitude, odometer_km, fuel_level) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TripLogStore tripLogStore;
+    private final Queue<Reading> readings = new ConcurrentLinkedQueue<>();
+    private final Queue<FailedBatch> failedBatches = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+
+    @Value("${telemetry.ingest.queue-capacity:100000}")
+    private int queueCapacity = 100_000;
+    @Value("${telemetry.ingest.batch-size:1000}")
+    private int batchSize = 1000;
+    @Value("${telemetry.ingest.flush-interval-ms:50}")
+    private long flushIntervalMillis = 50;
+    @Value("${telemetry.ingest.max-write-attempts:3}")
+    private int maxWriteAttempts = 3;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    public TelemetryIngestQueue(JdbcTemplate jdbcTemplate, TripLogStore tripLogStore,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tripLogStore = tripLogStore;
+        this.acceptedCounter = meterRegistry.counter("telemetry.readings.accepted");
+        this.rejectedCounter = meterRegistry.counter("telemetry.readings.rejected");
+        this.writtenCounter = meterRegistry.counter("telemetry.readings.written");
+        this.droppedCounter = meterRegistry.counter("telemetry.readings.dropped");
+        meterRegistry.gauge("telemetry.queue.size", size);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "telemetry-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    public boolean offerAll(List<Reading> batch) {
+        if (!reserveCapacity(batch.size())) {
+            rejectedCounter.increment(batch.size());
+            return false;
+        }
+        readings.addAll(batch);
+        acceptedCounter.increment(batch.size());
+        return true;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int flush() {
+        FailedBatch retry = failedBatches.poll();
+        List<Reading> batch = retry != null ? retry.readings() : pollBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        size.addAndGet(-batch.size());
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), TelemetryIngestQueue::bind);
+        } catch (DataAccessException e) {
+            retryLater(batch, retry != null ? retry.attempts() + 1 : 1, e);
+            return 0;
+        }
+        writtenCounter.increment(batch.size());
+        appendTripSamples(batch);
+        return batch.size();
+    }
+
+    private List<Reading> pollBatch() {
+        List<Reading> batch = new ArrayList<>(Math.min(batchSize, size.get()));
+        Reading reading;
+        while (batch.size() < batchSize && (reading = readings.poll()) != null) {
+            batch.add(reading);
+        }
+        return batch;
+    }
+
+    private void retryLater(List<Reading> batch, int attempts, DataAccessException e) {
+        if (attempts < maxWriteAttempts && reserveCapacity(batch.size())) {
+            failedBatches.offer(new FailedBatch(batch, attempts));
+            log.warn("Failed to write {} telemetry readings (attempt {} of {}), retrying",
+                    batch.size(), attempts, maxWriteAttempts, e);
+            return;
+        }
+        droppedCounter.increment(batch.size());
+        log.warn("Failed to write {} telemetry readings after {} attempts, dropping them",
+                batch.size(), attempts, e);
+    }
+
+    private boolean reserveCapacity(int count) {
+        int current;
+        do {
+            current = size.get();
+            if (current + count > queueCapacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + count));
+        return true;
+    }
+
+    private void appendTripSamples(List<Reading> batch) {
+        Map<Long, List<TripLogStore.Sample>> samplesByRental = new LinkedHashMap<>();
+        for (Reading reading : batch) {
+            if (reading.rentalId() != null && reading.latitude() != null
+                    && reading.longitude() != null) {
+                samplesByRental.computeIfAbsent(reading.rentalId(), id -> new ArrayList<>())
+                        .add(new TripLogStore.Sample(
+                                reading.recordedAt().atZone(ZoneId.systemDefault())
+                                        .toInstant().toEpochMilli(),
+                                (int) Math.round(reading.latitude() * 1_000_000),
+                                (int) Math.round(reading.longitude() * 1_000_000)));
+            }
+        }
+        try {
+            samplesByRental.forEach(tripLogStore::append);
+        } catch (RuntimeException e) {
+            log.warn("Failed to append trip samples of {} rentals", samplesByRental.size(), e);
+        }
+    }
+
+    private void run() {
+        while (running || size.get() > 0) {
+            try {
+                if (flush() < batchSize && running) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Telemetry writer failed, retrying on the next flush", e);
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Reading reading) throws SQLException {
+        statement.setLong(1, reading.carId());
+        setNullable(statement, 2, reading.rentalId(), Types.BIGINT);
+        statement.setTimestamp(3, Timestamp.valueOf(reading.recordedAt()));
+        setNullable(statement, 4, reading.latitude(), Types.DECIMAL);
+        setNullable(statement, 5, reading.longitude(), Types.DECIMAL);
+        setNullable(statement, 6, reading.odometerKm(), Types.DECIMAL);
+        setNullable(statement, 7, reading.fuelLevel(), Types.TINYINT);
+    }
+
+    private static void setNullable(PreparedStatement statement, int index, Object value,
+                                    int sqlType) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, sqlType);
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+
+    private record FailedBatch(List<Reading> readings, int attempts) {
+    }
+
+    public record Reading(Long carId, Long rentalId, LocalDateTime recordedAt, Double latitude,
+                          Double longitude, Double odometerKm, Integer fuelLevel) {
+    }
+}
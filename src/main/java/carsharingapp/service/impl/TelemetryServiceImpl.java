@@ -0,0 +1,59 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.dto.TelemetryBatchRequestDto;
+import carsharingapp.dto.TelemetryIngestResponseDto;
+import carsharingapp.dto.TelemetryReadingDto;
+import carsharingapp.exception.TelemetryBufferFullException;
+import carsharingapp.service.TelemetryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TelemetryServiceImpl implements TelemetryService {
+    private final TelemetryIngestQueue telemetryIngestQueue;
+    private final OpenRentalRegistry openRentalRegistry;
+    private final Counter unattributedCounter;
+
+    public TelemetryServiceImpl(TelemetryIngestQueue telemetryIngestQueue,
+                                OpenRentalRegistry openRentalRegistry,
+                                MeterRegistry meterRegistry) {
+        this.telemetryIngestQueue = telemetryIngestQueue;
+        this.openRentalRegistry = openRentalRegistry;
+        this.unattributedCounter = meterRegistry.counter("telemetry.readings.unattributed");
+    }
+
+    @Override
+    public TelemetryIngestResponseDto ingest(TelemetryBatchRequestDto requestDto) {
+        List<TelemetryIngestQueue.Reading> readings = requestDto.getReadings().stream()
+                .map(this::toReading)
+                .toList();
+        if (!telemetryIngestQueue.offerAll(readings)) {
+            throw new TelemetryBufferFullException(
+                    "Telemetry buffer is full, please retry later");
+        }
+        return new TelemetryIngestResponseDto(readings.size());
+    }
+
+    private TelemetryIngestQueue.Reading toReading(TelemetryReadingDto readingDto) {
+        return new TelemetryIngestQueue.Reading(
+                readingDto.getCarId(),
+                findRentalId(readingDto),
+                readingDto.getRecordedAt(),
+                readingDto.getLatitude(),
+                readingDto.getLongitude(),
+                readingDto.getOdometerKm(),
+                readingDto.getFuelLevel());
+    }
+
+    private Long findRentalId(TelemetryReadingDto readingDto) {
+        Long rentalId = openRentalRegistry.findRentalId(readingDto.getCarId(),
+                readingDto.getRentalId());
+        if (rentalId == null && (readingDto.getRentalId() != null
+                || openRentalRegistry.hasOpenRental(readingDto.getCarId()))) {
+            unattributedCounter.increment();
+        }
+        return rentalId;
+    }
+}
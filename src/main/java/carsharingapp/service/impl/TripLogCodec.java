@@ -0,0 +1,82 @@
+package carsharingapp.service.impl;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Consumer;
+
+final class TripLogCodec {
+    private static final int MAX_VAR_LONG_BYTES = 10;
+    private static final int MAX_VAR_INT_BYTES = 5;
+
+    private TripLogCodec() {
+    }
+
+    static int maxEncodedSize(int sampleCount) {
+        return MAX_VAR_LONG_BYTES + MAX_VAR_INT_BYTES
+                + sampleCount * (MAX_VAR_LONG_BYTES + 2 * MAX_VAR_INT_BYTES);
+    }
+
+    static void encode(ByteBuffer out, long rentalId, List<TripLogStore.Sample> samples) {
+        putVarLong(out, rentalId);
+        putVarLong(out, samples.size());
+        long previousTime = 0;
+        int previousLatitude = 0;
+        int previousLongitude = 0;
+        for (TripLogStore.Sample sample : samples) {
+            putVarLong(out, zigZag(sample.epochMillis() - previousTime));
+            putVarLong(out, zigZag((long) sample.latitudeE6() - previousLatitude));
+            putVarLong(out, zigZag((long) sample.longitudeE6() - previousLongitude));
+            previousTime = sample.epochMillis();
+            previousLatitude = sample.latitudeE6();
+            previousLongitude = sample.longitudeE6();
+        }
+    }
+
+    static long readRentalId(ByteBuffer payload) {
+        return getVarLong(payload.duplicate());
+    }
+
+    static int decode(ByteBuffer payload, Consumer<TripLogStore.Sample> consumer) {
+        ByteBuffer in = payload.duplicate();
+        getVarLong(in);
+        int count = (int) getVarLong(in);
+        long time = 0;
+        int latitude = 0;
+        int longitude = 0;
+        for (int i = 0; i < count; i++) {
+            time += unZigZag(getVarLong(in));
+            latitude += (int) unZigZag(getVarLong(in));
+            longitude += (int) unZigZag(getVarLong(in));
+            consumer.accept(new TripLogStore.Sample(time, latitude, longitude));
+        }
+        return count;
+    }
+
+    private static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte current = in.get();
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint in trip log record");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,414 @@
+package carsharingapp.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class TripLogStore {
+    private static final int HEADER_BYTES = 8;
+    private static final int ARCHIVE_BLOCK_HEADER_BYTES = Long.BYTES + 2 * Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String ARCHIVE_SUFFIX = ".lz4";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final int segmentSizeBytes;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, MappedByteBuffer> logSegments = new TreeMap<>();
+    private final Map<Long, List<RecordRef>> index = new HashMap<>();
+
+    private long activeSegmentId;
+    private MappedByteBuffer active;
+    private int writePosition;
+
+    public TripLogStore(
+            @Value("${triplog.directory:data/trip-logs}") String directory,
+            @Value("${triplog.segment-size-bytes:67108864}") int segmentSizeBytes
+    ) {
+        this.directory = Path.of(directory);
+        this.segmentSizeBytes = segmentSizeBytes;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        lock.writeLock().lock();
+        try {
+            TreeSet<Long> archiveIds = new TreeSet<>();
+            TreeSet<Long> logIds = new TreeSet<>();
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(TEMP_SUFFIX)) {
+                        Files.delete(file);
+                    } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(ARCHIVE_SUFFIX)) {
+                        archiveIds.add(segmentId(name, ARCHIVE_SUFFIX));
+                    } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(LOG_SUFFIX)) {
+                        logIds.add(segmentId(name, LOG_SUFFIX));
+                    }
+                }
+            }
+            for (Long archiveId : archiveIds) {
+                scanArchive(archiveId);
+            }
+            for (Long logId : logIds) {
+                if (archiveIds.contains(logId)) {
+                    Files.delete(logPath(logId));
+                    continue;
+                }
+                MappedByteBuffer segment = map(logId);
+                logSegments.put(logId, segment);
+                writePosition = scanLog(logId, segment);
+                activeSegmentId = logId;
+                active = segment;
+            }
+            long lastArchiveId = archiveIds.isEmpty() ? 0 : archiveIds.last();
+            if (active == null || activeSegmentId < lastArchiveId) {
+                startSegment(Math.max(activeSegmentId, lastArchiveId) + 1);
+            } else {
+                clearTornTail(active, writePosition);
+            }
+            log.info("Trip log opened with {} segments and {} archives for {} rentals",
+                    logSegments.size(), archiveIds.size(), index.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (active != null) {
+                active.force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void append(long rentalId, List<Sample> samples) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        int maxRecordBytes = HEADER_BYTES + TripLogCodec.maxEncodedSize(samples.size());
+        if (maxRecordBytes > segmentSizeBytes) {
+            throw new IllegalArgumentException("Too many trip samples in one append: "
+                    + samples.size());
+        }
+        lock.writeLock().lock();
+        try {
+            if (writePosition + maxRecordBytes > active.capacity()) {
+                active.force();
+                startSegment(activeSegmentId + 1);
+            }
+            ByteBuffer payload = active.slice(writePosition + HEADER_BYTES,
+                    active.capacity() - writePosition - HEADER_BYTES);
+            TripLogCodec.encode(payload, rentalId, samples);
+            int length = payload.position();
+            active.putInt(writePosition + Integer.BYTES, checksum(payload.flip()));
+            active.putInt(writePosition, length);
+            addRef(rentalId, new RecordRef(activeSegmentId, writePosition,
+                    HEADER_BYTES + length, false));
+            writePosition += HEADER_BYTES + length;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't append to the trip log", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int replay(long rentalId, Consumer<Sample> consumer) {
+        lock.readLock().lock();
+        try {
+            List<RecordRef> refs = index.get(rentalId);
+            if (refs == null) {
+                return 0;
+            }
+            int count = 0;
+            for (RecordRef ref : refs) {
+                ByteBuffer frames = ref.archived()
+                        ? readArchived(ref)
+                        : logSegments.get(ref.segmentId()).slice(ref.offset(), ref.length());
+                count += decodeFrames(frames, consumer);
+            }
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read the trip log of rental " + rentalId, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Sample> readTrip(long rentalId) {
+        List<Sample> samples = new ArrayList<>();
+        replay(rentalId, samples::add);
+        return samples;
+    }
+
+    @Scheduled(fixedDelayString = "${triplog.compaction-interval-ms:600000}",
+            initialDelayString = "${triplog.compaction-interval-ms:600000}")
+    public void compact() {
+        List<Long> sealedIds;
+        lock.readLock().lock();
+        try {
+            sealedIds = new ArrayList<>(logSegments.headMap(activeSegmentId).keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (Long segmentId : sealedIds) {
+            try {
+                compactSegment(segmentId);
+            } catch (IOException e) {
+                log.warn("Failed to compact trip log segment {}", segmentId, e);
+            }
+        }
+    }
+
+    private void compactSegment(long segmentId) throws IOException {
+        MappedByteBuffer segment;
+        lock.readLock().lock();
+        try {
+            segment = logSegments.get(segmentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<Long, List<RecordRef>> framesByRental = new LinkedHashMap<>();
+        forEachFrame(segmentId, segment, (rentalId, ref) ->
+                framesByRental.computeIfAbsent(rentalId, id -> new ArrayList<>()).add(ref));
+
+        Path temp = directory.resolve(fileName(segmentId, ARCHIVE_SUFFIX) + TEMP_SUFFIX);
+        Map<Long, RecordRef> archivedRefs = new HashMap<>();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            int offset = 0;
+            for (Map.Entry<Long, List<RecordRef>> entry : framesByRental.entrySet()) {
+                ByteArrayOutputStream block = new ByteArrayOutputStream();
+                int length = 0;
+                try (OutputStream compressed = new FramedLZ4CompressorOutputStream(block)) {
+                    WritableByteChannel channel = Channels.newChannel(compressed);
+                    for (RecordRef frame : entry.getValue()) {
+                        channel.write(segment.slice(frame.offset(), frame.length()));
+                        length += frame.length();
+                    }
+                }
+                out.writeLong(entry.getKey());
+                out.writeInt(length);
+                out.writeInt(block.size());
+                block.writeTo(out);
+                offset += ARCHIVE_BLOCK_HEADER_BYTES;
+                archivedRefs.put(entry.getKey(), new RecordRef(segmentId, offset, length, true));
+                offset += block.size();
+            }
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, archivePath(segmentId), StandardCopyOption.ATOMIC_MOVE);
+
+        lock.writeLock().lock();
+        try {
+            archivedRefs.forEach((rentalId, archivedRef) ->
+                    index.computeIfPresent(rentalId, (id, refs) ->
+                            replaceSegmentRefs(refs, archivedRef)));
+            logSegments.remove(segmentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Files.delete(logPath(segmentId));
+        log.info("Compacted trip log segment {} for {} rentals", segmentId,
+                archivedRefs.size());
+    }
+
+    private static List<RecordRef> replaceSegmentRefs(List<RecordRef> refs,
+                                                      RecordRef archivedRef) {
+        List<RecordRef> replaced = new ArrayList<>(refs.size());
+        boolean inserted = false;
+        for (RecordRef ref : refs) {
+            if (ref.segmentId() != archivedRef.segmentId()) {
+                replaced.add(ref);
+            } else if (!inserted) {
+                replaced.add(archivedRef);
+                inserted = true;
+            }
+        }
+        return replaced;
+    }
+
+    private int scanLog(long segmentId, ByteBuffer segment) {
+        return forEachFrame(segmentId, segment, this::addRef);
+    }
+
+    private int forEachFrame(long segmentId, ByteBuffer segment, FrameVisitor visitor) {
+        int position = 0;
+        while (position + HEADER_BYTES <= segment.capacity()) {
+            int length = segment.getInt(position);
+            if (length <= 0 || length > segment.capacity() - position - HEADER_BYTES) {
+                break;
+            }
+            ByteBuffer payload = segment.slice(position + HEADER_BYTES, length);
+            if (checksum(payload) != segment.getInt(position + Integer.BYTES)) {
+                log.warn("Trip log segment {} has a torn record at offset {}",
+                        segmentId, position);
+                break;
+            }
+            visitor.visit(TripLogCodec.readRentalId(payload),
+                    new RecordRef(segmentId, position, HEADER_BYTES + length, false));
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private void scanArchive(long archiveId) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(archivePath(archiveId))))) {
+            int offset = 0;
+            while (true) {
+                long rentalId;
+                try {
+                    rentalId = in.readLong();
+                } catch (EOFException e) {
+                    return;
+                }
+                int length = in.readInt();
+                int compressedLength = in.readInt();
+                in.skipNBytes(compressedLength);
+                offset += ARCHIVE_BLOCK_HEADER_BYTES;
+                addRef(rentalId, new RecordRef(archiveId, offset, length, true));
+                offset += compressedLength;
+            }
+        }
+    }
+
+    private ByteBuffer readArchived(RecordRef ref) throws IOException {
+        try (FileChannel channel = FileChannel.open(archivePath(ref.segmentId()),
+                StandardOpenOption.READ);
+                InputStream in = new FramedLZ4CompressorInputStream(new BufferedInputStream(
+                        Channels.newInputStream(channel.position(ref.offset()))))) {
+            byte[] frames = new byte[ref.length()];
+            if (in.readNBytes(frames, 0, frames.length) != frames.length) {
+                throw new EOFException("Truncated trip log archive " + ref.segmentId());
+            }
+            return ByteBuffer.wrap(frames);
+        }
+    }
+
+    private static int decodeFrames(ByteBuffer frames, Consumer<Sample> consumer) {
+        int count = 0;
+        int position = 0;
+        while (position < frames.limit()) {
+            int length = frames.getInt(position);
+            count += TripLogCodec.decode(frames.slice(position + HEADER_BYTES, length), consumer);
+            position += HEADER_BYTES + length;
+        }
+        return count;
+    }
+
+    private void clearTornTail(MappedByteBuffer segment, int validEnd) {
+        int cleared = 0;
+        for (int position = validEnd; position < segment.capacity(); position++) {
+            if (segment.get(position) != 0) {
+                segment.put(position, (byte) 0);
+                cleared++;
+            }
+        }
+        if (cleared > 0) {
+            segment.force();
+            log.warn("Recovered trip log segment {}, discarded {} bytes after offset {}",
+                    activeSegmentId, cleared, validEnd);
+        }
+    }
+
+    private void startSegment(long segmentId) throws IOException {
+        active = map(segmentId);
+        activeSegmentId = segmentId;
+        writePosition = 0;
+        logSegments.put(segmentId, active);
+    }
+
+    private MappedByteBuffer map(long segmentId) throws IOException {
+        try (FileChannel channel = FileChannel.open(logPath(segmentId), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = Math.max(channel.size(), segmentSizeBytes);
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private void addRef(long rentalId, RecordRef ref) {
+        index.computeIfAbsent(rentalId, id -> new ArrayList<>()).add(ref);
+    }
+
+    private Path logPath(long segmentId) {
+        return directory.resolve(fileName(segmentId, LOG_SUFFIX));
+    }
+
+    private Path archivePath(long segmentId) {
+        return directory.resolve(fileName(segmentId, ARCHIVE_SUFFIX));
+    }
+
+    private static String fileName(long segmentId, String suffix) {
+        return String.format("%s%012d%s", SEGMENT_PREFIX, segmentId, suffix);
+    }
+
+    private static long segmentId(String fileName, String suffix) {
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(),
+                fileName.length() - suffix.length()));
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    public record Sample(long epochMillis, int latitudeE6, int longitudeE6) {
+    }
+
+    private record RecordRef(long segmentId, int offset, int length, boolean archived) {
+    }
+
+    @FunctionalInterface
+    private interface FrameVisitor {
+        void visit(long rentalId, RecordRef ref);
+    }
+}
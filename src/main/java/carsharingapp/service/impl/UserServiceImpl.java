@@ -10,13 +10,14 @@ import carsharingapp.model.Role;
 import carsharingapp.model.User;
 import carsharingapp.repository.RoleRepository;
 import carsharingapp.repository.UserRepository;
-import carsharingapp.security.JwtUtil;
+import carsharingapp.security.CurrentUserResolver;
+import carsharingapp.security.CustomUserDetailsService;
+import carsharingapp.security.TokenVersionRegistry;
 import carsharingapp.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,12 +25,13 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
-    private final UserDetailsService userDetailsService;
     private final UserMapper userMapper;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
-    private final JwtUtil jwtUtil;
+    private final CurrentUserResolver currentUserResolver;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final CustomUserDetailsService userDetailsService;
 
     @Override
     @Transactional
@@ -58,6 +60,8 @@ public class UserServiceImpl implements UserService {
         Set<Role> userRoles = new HashSet<>(roleRepository.findAllById(requestDto.getRoleIds()));
         user.setRoles(userRoles);
         userRepository.save(user);
+        tokenVersionRegistry.revoke(userId);
+        userDetailsService.evict(user.getEmail());
         return userMapper.toDto(user);
     }
 
@@ -76,11 +80,16 @@ public class UserServiceImpl implements UserService {
         user.setFirstName(requestDto.getFirstName());
         user.setLastName(requestDto.getLastName());
         userRepository.save(user);
+        userDetailsService.evict(user.getEmail());
         return userMapper.toDto(user);
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long userId) {
+        userRepository.findById(userId)
+                .ifPresent(user -> userDetailsService.evict(user.getEmail()));
+        tokenVersionRegistry.revoke(userId);
         userRepository.deleteById(userId);
     }
 
@@ -89,15 +98,17 @@ public class UserServiceImpl implements UserService {
         User currentUser = getCurrentUser();
         currentUser.setTelegramChatId(chatId);
         userRepository.save(currentUser);
+        userDetailsService.evict(currentUser.getEmail());
     }
 
     @Override
     public User getCurrentUser() {
-        String token = jwtUtil.getToken();
-        System.out.println("Checking token " + token);
-        String username = jwtUtil.getUsername(token);
-        System.out.println("Checking username " + username);
-        return (User) userDetailsService.loadUserByUsername(username);
+        return currentUserResolver.getCurrentUser();
+    }
+
+    @Override
+    public Long getCurrentUserId() {
+        return currentUserResolver.getCurrentUserId();
     }
 
     private User findUserById(Long userId) {
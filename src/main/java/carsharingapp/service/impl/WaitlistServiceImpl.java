@@ -0,0 +1,231 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.dto.HoldResponseDto;
+import carsharingapp.dto.WaitlistResponseDto;
+import carsharingapp.event.CarChangedEvent;
+import carsharingapp.exception.CarAvailableException;
+import carsharingapp.exception.EntityNotFoundException;
+import carsharingapp.exception.RentalException;
+import carsharingapp.model.Car;
+import carsharingapp.model.User;
+import carsharingapp.repository.CarHoldRepository;
+import carsharingapp.repository.CarRepository;
+import carsharingapp.repository.UserRepository;
+import carsharingapp.service.HoldService;
+import carsharingapp.service.UserService;
+import carsharingapp.service.WaitlistService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitlistServiceImpl implements WaitlistService {
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final CarRepository carRepository;
+    private final CarHoldRepository carHoldRepository;
+    private final HoldService holdService;
+    private final TelegramNotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Waitlist> waitlists = new ConcurrentHashMap<>();
+    private final Map<Long, Ticket> waitingUsers = new ConcurrentHashMap<>();
+    private final Set<Long> pendingCarIds = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Long> dispatchQueue = new LinkedBlockingQueue<>();
+    private final AtomicLong ticketSequence = new AtomicLong();
+
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "waitlist-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public WaitlistResponseDto join(Long carId) {
+        if (!carRepository.existsById(carId)) {
+            throw new EntityNotFoundException("Can't find a car by this ID: " + carId);
+        }
+        Long userId = userService.getCurrentUser().getId();
+        if (carHoldRepository.existsByUserId(userId)) {
+            throw new RentalException("Sorry, but you already hold a car.");
+        }
+        Ticket ticket = new Ticket(userId, carId, ticketSequence.incrementAndGet());
+        Ticket existing = waitingUsers.putIfAbsent(userId, ticket);
+        if (existing != null) {
+            throw new RentalException("You are already on the waitlist for car with id "
+                    + existing.carId());
+        }
+        Waitlist waitlist = waitlists.computeIfAbsent(carId, id -> new Waitlist());
+        waitlist.tickets.offerLast(ticket);
+        int waiting = waitlist.size.incrementAndGet();
+        requestDispatch(carId);
+        return new WaitlistResponseDto(carId, waiting);
+    }
+
+    @Override
+    public void leave(Long carId) {
+        Long userId = userService.getCurrentUser().getId();
+        Ticket ticket = waitingUsers.get(userId);
+        if (ticket == null || !ticket.carId().equals(carId)
+                || !waitingUsers.remove(userId, ticket)) {
+            throw new EntityNotFoundException("You are not on the waitlist for car with id "
+                    + carId);
+        }
+        waitlists.get(carId).size.decrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        Waitlist waitlist = waitlists.get(event.carId());
+        if (waitlist != null && waitlist.size.get() > 0) {
+            requestDispatch(event.carId());
+        }
+    }
+
+    public int dispatch(Long carId) {
+        Waitlist waitlist = waitlists.get(carId);
+        if (waitlist == null || waitlist.size.get() == 0) {
+            return 0;
+        }
+        Optional<Car> car = carRepository.findById(carId);
+        if (car.isEmpty()) {
+            Ticket ticket;
+            while ((ticket = waitlist.poll()) != null) {
+                log.debug("Removing user {} from the waitlist of deleted car {}",
+                        ticket.userId(), carId);
+            }
+            return 0;
+        }
+        int freeUnits = car.get().getInventory();
+        int promoted = 0;
+        while (promoted < freeUnits) {
+            Ticket ticket = waitlist.poll();
+            if (ticket == null) {
+                break;
+            }
+            try {
+                promote(ticket);
+                promoted++;
+            } catch (CarAvailableException e) {
+                waitlist.pushBack(ticket);
+                break;
+            } catch (RentalException e) {
+                log.debug("Removing waitlisted user {} from car {}: {}", ticket.userId(), carId,
+                        e.getMessage());
+                notifyDropped(ticket, e.getMessage());
+            } catch (RuntimeException e) {
+                log.warn("Failed to promote waitlisted user {} for car {}", ticket.userId(),
+                        carId, e);
+                notifyDropped(ticket, "we couldn't hold it for you, please join again");
+            }
+        }
+        return promoted;
+    }
+
+    private void notifyDropped(Ticket ticket, String reason) {
+        try {
+            notifyUser(ticket.userId(), "Car with id " + ticket.carId() + " is available again, "
+                    + "but you were removed from its waitlist: " + reason);
+        } catch (RuntimeException e) {
+            log.warn("Failed to tell user {} they left the waitlist of car {}", ticket.userId(),
+                    ticket.carId(), e);
+        }
+    }
+
+    private void promote(Ticket ticket) {
+        transactionTemplate.executeWithoutResult(status -> {
+            HoldResponseDto hold = holdService.createHoldForUser(ticket.userId(),
+                    ticket.carId());
+            notifyUser(ticket.userId(), "Car with id " + ticket.carId()
+                    + " is available again and is held for you until " + hold.expiresAt());
+        });
+    }
+
+    private void notifyUser(Long userId, String message) {
+        Long chatId = userRepository.findById(userId)
+                .map(User::getTelegramChatId)
+                .orElse(null);
+        notificationService.sendNotification(chatId, message);
+    }
+
+    private void requestDispatch(Long carId) {
+        if (pendingCarIds.add(carId)) {
+            dispatchQueue.offer(carId);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            Long carId;
+            try {
+                carId = dispatchQueue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            pendingCarIds.remove(carId);
+            try {
+                int promoted = dispatch(carId);
+                if (promoted > 0) {
+                    log.info("Promoted {} waitlisted users for car {}", promoted, carId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to dispatch the waitlist of car {}", carId, e);
+            }
+        }
+    }
+
+    private record Ticket(Long userId, Long carId, long sequence) {
+    }
+
+    private final class Waitlist {
+        private final Deque<Ticket> tickets = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Ticket poll() {
+            Ticket ticket;
+            while ((ticket = tickets.pollFirst()) != null) {
+                if (waitingUsers.remove(ticket.userId(), ticket)) {
+                    size.decrementAndGet();
+                    return ticket;
+                }
+            }
+            return null;
+        }
+
+        private void pushBack(Ticket ticket) {
+            if (waitingUsers.putIfAbsent(ticket.userId(), ticket) == null) {
+                tickets.offerFirst(ticket);
+                size.incrementAndGet();
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -103,6 +104,29 @@ class AuthenticationControllerTest {
         EqualsBuilder.reflectionEquals(expected, actual, "id");
     }
 
+    @Test
+    @DisplayName("Verify /actuator/prometheus endpoint. Should reject anonymous requests")
+    void prometheus_Anonymous_Unauthorized() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(username = "john@mail.com", roles = {"CUSTOMER"})
+    @DisplayName("Verify /actuator/prometheus endpoint. Should reject customers")
+    void prometheus_Customer_Forbidden() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "carina@mail.com", roles = {"MANAGER"})
+    @DisplayName("Verify /actuator/prometheus endpoint. Should expose metrics to managers")
+    void prometheus_Manager_Ok() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isOk());
+    }
+
     private static UserRegistrationRequestDto createUserRegistrationRequestDto() {
         return new UserRegistrationRequestDto(
                 "elsa@example.com",
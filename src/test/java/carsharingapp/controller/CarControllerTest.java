@@ -191,7 +191,9 @@ public class CarControllerTest {
                 UPDATED_MODEL,
                 Car.Type.SEDAN.name(),
                 VALID_INVENTORY,
-                VALID_DAILY_FEE
+                VALID_DAILY_FEE,
+                null,
+                null
         );
         CarResponseDto expected = new CarResponseDto();
         expected.setId(VALID_ID);
@@ -0,0 +1,110 @@
+package carsharingapp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import carsharingapp.dto.PaymentResponseDto;
+import carsharingapp.model.Payment;
+import carsharingapp.util.MaxQueries;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Connection;
+import java.util.Comparator;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.test.context.support.TestExecutionEvent;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PaymentControllerTest {
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private WebApplicationContext applicationContext;
+
+    @BeforeAll
+    public void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+        cleanDatabase();
+    }
+
+    @BeforeEach
+    public void init() {
+        executeSqlScript("db/insert-users-to-users_table.sql");
+        executeSqlScript("db/insert-cars-to-cars_table.sql");
+        executeSqlScript("db/insert-rentals-to-rentals_table.sql");
+        executeSqlScript("db/insert-payments-to-payments_table.sql");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cleanDatabase();
+    }
+
+    private void cleanDatabase() {
+        executeSqlScript("db/delete-payments-from-payments_table.sql");
+        executeSqlScript("db/delete-rentals-from-rentals_table.sql");
+        executeSqlScript("db/delete-cars-from-cars_table.sql");
+        executeSqlScript("db/delete-users-from-users_table.sql");
+    }
+
+    private void executeSqlScript(String scriptPath) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource(scriptPath));
+        } catch (Exception e) {
+            throw new RuntimeException("Error executing SQL script: " + scriptPath, e);
+        }
+    }
+
+    @Test
+    @DisplayName("Verify getPaymentsByUserId() method. "
+            + "Should return the customer's payments without a query per rental"
+    )
+    @WithUserDetails(value = "alice@example.com",
+            setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @MaxQueries(2)
+    void getPaymentsByUserId_OwnPayments_ReturnPaymentsOfUser() throws Exception {
+        //When
+        MvcResult result = mockMvc.perform(
+                        get("/payments/{userId}", 1L)
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //Then
+        List<PaymentResponseDto> actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<List<PaymentResponseDto>>() {
+                }).stream()
+                .sorted(Comparator.comparing(PaymentResponseDto::getId))
+                .toList();
+        assertEquals(List.of(1L, 3L),
+                actual.stream().map(PaymentResponseDto::getRentalId).toList());
+        assertEquals(List.of(Payment.Status.PAID, Payment.Status.PAID),
+                actual.stream().map(PaymentResponseDto::getStatus).toList());
+    }
+}
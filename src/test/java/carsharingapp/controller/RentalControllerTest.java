@@ -15,6 +15,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import carsharingapp.dto.CarRentedDto;
+import carsharingapp.dto.CarResponseDto;
 import carsharingapp.dto.RentalRequestDto;
 import carsharingapp.dto.RentalResponseDto;
 import carsharingapp.mapper.RentalMapper;
@@ -24,13 +25,19 @@ import carsharingapp.model.Role;
 import carsharingapp.model.User;
 import carsharingapp.repository.RentalRepository;
 import carsharingapp.repository.UserRepository;
+import carsharingapp.service.impl.CarAvailabilityIndex;
 import carsharingapp.service.impl.TelegramNotificationService;
+import carsharingapp.util.MaxQueries;
 import carsharingapp.util.TestUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDate;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.AfterEach;
@@ -63,6 +70,8 @@ class RentalControllerTest {
     private DataSource dataSource;
     @Autowired
     private WebApplicationContext applicationContext;
+    @Autowired
+    private CarAvailabilityIndex carAvailabilityIndex;
     @Mock
     private TelegramNotificationService notificationService;
     @Mock
@@ -104,6 +113,15 @@ class RentalControllerTest {
         executeSqlScript("db/delete-users-from-users_table.sql");
     }
 
+    private void executeSql(String sql) {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error executing SQL: " + sql, e);
+        }
+    }
+
     private void executeSqlScript(String scriptPath) {
         try (Connection connection = dataSource.getConnection()) {
             connection.setAutoCommit(true);
@@ -124,7 +142,8 @@ class RentalControllerTest {
                 LocalDate.parse("2025-02-04"),
                 LocalDate.parse("2025-05-27"),
                 1L,
-                3L);
+                3L,
+                null);
 
         User user = createSecondUser(TestUtils.createRole());
         Car car = createFirstCar();
@@ -153,6 +172,36 @@ class RentalControllerTest {
         assertEquals(actual, expected);
     }
 
+    @Test
+    @DisplayName("Verify that a car listed by GET /cars/available can be rented")
+    @WithMockUser(username = "alice@example.com", roles = "MANAGER")
+    void createRental_CarListedAsAvailable_CreateRental() throws Exception {
+        //Given
+        executeSql("UPDATE cars SET inventory = 0 WHERE id = 2");
+        carAvailabilityIndex.rebuild();
+        LocalDate from = LocalDate.now().plusDays(2);
+        LocalDate to = LocalDate.now().plusDays(5);
+        MvcResult availableResult = mockMvc.perform(get("/cars/available")
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<CarResponseDto> available = objectMapper.readValue(
+                availableResult.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                });
+        assertEquals(List.of(1L, 3L), available.stream().map(CarResponseDto::getId).toList());
+        RentalRequestDto requestDto = new RentalRequestDto(from, to,
+                available.get(available.size() - 1).getId(), 3L, null);
+
+        //When
+        mockMvc.perform(post("/rentals")
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                //Then
+                .andExpect(status().isCreated());
+    }
+
     @Test
     @DisplayName("Verify getRentalById() method. Should return specific rental by it's iD."
     )
@@ -186,6 +235,34 @@ class RentalControllerTest {
         assertEquals(actual, expected);
     }
 
+    @Test
+    @DisplayName("Verify getRentalsByUserId() method. "
+            + "Should load a full page of rentals with their cars without a count query"
+    )
+    @WithMockUser(username = "admin@example.com", roles = "MANAGER")
+    @MaxQueries(1)
+    void getRentalsByUserId_ValidUserId_ReturnRentalsWithCars() throws Exception {
+        //When
+        MvcResult result = mockMvc.perform(
+                        get("/rentals")
+                                .param("userId", "1")
+                                .param("sort", "id")
+                                .param("size", "2")
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //Then
+        List<RentalResponseDto> actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                });
+        assertEquals(List.of(1L, 3L), actual.stream().map(RentalResponseDto::getId).toList());
+        assertEquals(List.of("Model S", "X5"), actual.stream()
+                .map(rental -> rental.getCar().getModel())
+                .toList());
+    }
+
     @Test
     @DisplayName("Verify setActualReturnDate() method. Should set actual return date for rental."
     )
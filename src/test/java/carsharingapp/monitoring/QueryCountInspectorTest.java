@@ -0,0 +1,59 @@
+package carsharingapp.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import carsharingapp.util.MaxQueries;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class QueryCountInspectorTest {
+    private static final String SELECT_CAR = "select c.id from cars c where c.id=?";
+    private static final String SELECT_USER = "select u.id from users u where u.id=?";
+
+    private final QueryCountInspector inspector = new QueryCountInspector();
+
+    @Test
+    @DisplayName("Nested scopes count their own statements and propagate to the outer one")
+    void inspect_NestedScopes_CountsInEveryOpenScope() {
+        //Given
+        final QueryCountInspector.QueryScope outer = QueryCountInspector.open();
+        inspector.inspect(SELECT_USER);
+        QueryCountInspector.QueryScope inner = QueryCountInspector.open();
+
+        //When
+        inspector.inspect(SELECT_CAR);
+        inspector.inspect(SELECT_CAR);
+        inner.close();
+        outer.close();
+
+        //Then
+        assertThat(inner.count()).isEqualTo(2);
+        assertThat(outer.count()).isEqualTo(3);
+        assertThat(outer.mostRepeated()).contains(Map.entry(SELECT_CAR, 2));
+        assertThat(QueryCountInspector.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Statements outside of a scope are not counted")
+    void inspect_WithoutScope_ReturnsSqlUnchanged() {
+        //When
+        String sql = inspector.inspect(SELECT_CAR);
+
+        //Then
+        assertThat(sql).isEqualTo(SELECT_CAR);
+        assertThat(QueryCountInspector.current()).isNull();
+    }
+
+    @Test
+    @MaxQueries(2)
+    @DisplayName("@MaxQueries passes when the test stays within its statement budget")
+    void maxQueries_WithinBudget_Passes() {
+        //When
+        inspector.inspect(SELECT_CAR);
+        inspector.inspect(SELECT_USER);
+
+        //Then
+        assertThat(QueryCountInspector.current().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,40 @@
+package carsharingapp.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TimedCallTest {
+    private static final String TIMER_NAME = "stripe.session.create";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Successful calls are timed with exception=none and return the result")
+    void record_SuccessfulCall_TimesWithoutException() {
+        //When
+        String result = TimedCall.record(meterRegistry, TIMER_NAME, () -> "session");
+
+        //Then
+        assertThat(result).isEqualTo("session");
+        assertThat(meterRegistry.get(TIMER_NAME)
+                .tag(TimedCall.EXCEPTION_TAG, "none").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Failed calls are timed with the exception class and rethrown")
+    void record_FailingCall_TimesWithExceptionAndRethrows() {
+        //When
+        assertThatThrownBy(() -> TimedCall.record(meterRegistry, TIMER_NAME, () -> {
+            throw new IllegalStateException("Stripe is down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        //Then
+        assertThat(meterRegistry.get(TIMER_NAME)
+                .tag(TimedCall.EXCEPTION_TAG, "IllegalStateException").timer().count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,97 @@
+package carsharingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import carsharingapp.model.Car;
+import carsharingapp.model.Payment;
+import carsharingapp.model.Rental;
+import carsharingapp.model.Role;
+import carsharingapp.model.User;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RentalBatchInsertTest {
+    private static final int BATCH_SIZE = 50;
+    private static final int RENTAL_COUNT = 120;
+    private static final LocalDate RENTAL_DATE = LocalDate.of(2025, 1, 6);
+
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Car.class)
+                .addAnnotatedClass(Role.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Rental.class)
+                .addAnnotatedClass(Payment.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:rental-batch-insert")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(BATCH_SIZE))
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.generate_statistics", "true")
+                .buildSessionFactory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    @DisplayName("Rentals persisted with their payments are inserted in JDBC batches per table")
+    void persist_RentalsWithPayments_InsertInBatches() {
+        //Given
+        Car car = new Car()
+                .setModel("Corolla")
+                .setBrand("Toyota")
+                .setType(Car.Type.SEDAN)
+                .setInventory(RENTAL_COUNT)
+                .setDailyFee(BigDecimal.TEN);
+        User user = new User()
+                .setEmail("bob@example.com")
+                .setFirstName("Bob")
+                .setLastName("Smith")
+                .setPassword("password");
+        sessionFactory.inTransaction(session -> {
+            session.persist(car);
+            session.persist(user);
+        });
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        //When
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < RENTAL_COUNT; i++) {
+                Rental rental = new Rental()
+                        .setRentalDate(RENTAL_DATE)
+                        .setReturnDate(RENTAL_DATE.plusDays(i % 7 + 1))
+                        .setCar(session.getReference(Car.class, car.getId()))
+                        .setUser(session.getReference(User.class, user.getId()));
+                session.persist(rental);
+                session.persist(new Payment()
+                        .setStatus(Payment.Status.PENDING)
+                        .setType(Payment.Type.PAYMENT)
+                        .setRental(rental)
+                        .setAmountToPay(BigDecimal.TEN));
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+        });
+
+        //Then
+        int batchesPerTable = (RENTAL_COUNT + BATCH_SIZE - 1) / BATCH_SIZE;
+        assertEquals(2L * RENTAL_COUNT, statistics.getEntityInsertCount());
+        assertEquals(2L * batchesPerTable, statistics.getPrepareStatementCount());
+    }
+}
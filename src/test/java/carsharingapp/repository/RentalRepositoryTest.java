@@ -3,14 +3,22 @@ package carsharingapp.repository;
 import static carsharingapp.util.TestUtils.VALID_USER_ID_WHICH_HAS_RENTAL;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import carsharingapp.dto.OverdueRentalDto;
+import carsharingapp.dto.RentalSearchParametersDto;
 import carsharingapp.model.Rental;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
 
@@ -42,12 +50,36 @@ class RentalRepositoryTest {
     }
 
     @Test
-    @DisplayName("findAllByReturnDateBeforeAndActualReturnDateIsNull() method finds all rentals  "
-            + "which are not returned in time")
-    void findAllByReturnDateBeforeAndActualReturnDateIsNull_WithReturnDate_ReturnRentals() {
+    @DisplayName("findFirstOverdueRentals() and findOverdueRentalsAfter() methods page overdue "
+            + "rentals by return date and id")
+    void findOverdueRentals_WithCursor_ReturnNextChunk() {
+        LocalDate today = LocalDate.now();
+        List<OverdueRentalDto> firstChunk = rentalRepository.findFirstOverdueRentals(today,
+                Limit.of(1));
+        OverdueRentalDto last = firstChunk.get(0);
+        List<OverdueRentalDto> secondChunk = rentalRepository.findOverdueRentalsAfter(today,
+                last.returnDate(), last.rentalId(), Limit.of(1));
+        OverdueRentalDto next = secondChunk.get(0);
+        List<OverdueRentalDto> thirdChunk = rentalRepository.findOverdueRentalsAfter(today,
+                next.returnDate(), next.rentalId(), Limit.of(1));
+        assertThat(firstChunk).containsExactly(
+                new OverdueRentalDto(2L, LocalDate.parse("2024-01-07")));
+        assertThat(secondChunk).containsExactly(
+                new OverdueRentalDto(1L, LocalDate.parse("2025-10-10")));
+        assertThat(thirdChunk).isEmpty();
+    }
 
-        List<Rental> actual = rentalRepository
-                .findOpenRental(VALID_USER_ID_WHICH_HAS_RENTAL);
-        assertThat(actual.size()).isEqualTo(1L);
+    @Test
+    @DisplayName("findSliceWithCar() method returns one page of matching rentals "
+            + "with their cars fetched and tells whether more follow")
+    void findSliceWithCar_WithRentalsOfUserSpecification_ReturnRentalSlice() {
+        RentalSearchParametersDto searchParameters =
+                new RentalSearchParametersDto(1L, null, null, null, null);
+        Slice<Rental> actual = rentalRepository.findSliceWithCar(
+                RentalSpecificationBuilder.build(searchParameters),
+                PageRequest.of(0, 1, Sort.by("id")));
+        assertThat(actual.getContent()).extracting(Rental::getId).containsExactly(1L);
+        assertThat(actual.hasNext()).isTrue();
+        assertThat(Hibernate.isInitialized(actual.getContent().get(0).getCar())).isTrue();
     }
 }
@@ -0,0 +1,136 @@
+package carsharingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import carsharingapp.model.Car;
+import carsharingapp.model.Role;
+import carsharingapp.model.User;
+import carsharingapp.service.impl.SecondLevelCacheLocks;
+import java.math.BigDecimal;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SecondLevelCacheTest {
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Car.class)
+                .addAnnotatedClass(Role.class)
+                .addAnnotatedClass(User.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:second-level-cache")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .setProperty("hibernate.cache.use_second_level_cache", "true")
+                .setProperty("hibernate.cache.use_query_cache", "true")
+                .setProperty("hibernate.cache.region.factory_class", "jcache")
+                .setProperty("hibernate.javax.cache.provider",
+                        "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider")
+                .setProperty("hibernate.javax.cache.uri", "hibernate-cache.conf")
+                .setProperty("hibernate.javax.cache.missing_cache_strategy", "fail")
+                .setProperty("hibernate.generate_statistics", "true")
+                .buildSessionFactory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    @DisplayName("A cached car is served from the cars region and dropped on soft delete")
+    void find_CachedCar_HitsRegionUntilSoftDeleted() {
+        //Given
+        Long carId = sessionFactory.fromTransaction(session -> {
+            Car car = new Car()
+                    .setModel("Model S")
+                    .setBrand("Tesla")
+                    .setType(Car.Type.SEDAN)
+                    .setInventory(2)
+                    .setDailyFee(BigDecimal.TEN);
+            session.persist(car);
+            return car.getId();
+        });
+
+        //When
+        sessionFactory.inTransaction(session -> session.find(Car.class, carId));
+        sessionFactory.inTransaction(session -> session.remove(session.find(Car.class, carId)));
+        Car afterDelete = sessionFactory.fromTransaction(session ->
+                session.find(Car.class, carId));
+
+        //Then
+        CacheRegionStatistics statistics = sessionFactory.getStatistics()
+                .getDomainDataRegionStatistics("cars");
+        assertEquals(2, statistics.getHitCount());
+        assertNull(afterDelete);
+    }
+
+    @Test
+    @DisplayName("A car read while its inventory update is in flight is not cached stale")
+    void find_DuringInventoryUpdate_DoesNotCacheStaleCar() {
+        //Given
+        Long carId = sessionFactory.fromTransaction(session -> {
+            Car car = new Car()
+                    .setModel("Model 3")
+                    .setBrand("Tesla")
+                    .setType(Car.Type.SEDAN)
+                    .setInventory(2)
+                    .setDailyFee(BigDecimal.TEN);
+            session.persist(car);
+            return car.getId();
+        });
+        Session writer = sessionFactory.openSession();
+        writer.beginTransaction();
+        SecondLevelCacheLocks.lockUntilCompletion(writer, Car.class, carId);
+        writer.createNativeQuery("UPDATE cars SET inventory = inventory - 1 WHERE id = :carId",
+                        Object.class)
+                .addSynchronizedQuerySpace(CarRepository.INVENTORY_QUERY_SPACE)
+                .setParameter("carId", carId)
+                .executeUpdate();
+
+        //When
+        Car duringUpdate = sessionFactory.fromTransaction(session ->
+                session.find(Car.class, carId));
+        writer.getTransaction().commit();
+        writer.close();
+        Car afterCommit = sessionFactory.fromTransaction(session ->
+                session.find(Car.class, carId));
+
+        //Then
+        assertEquals(2, duringUpdate.getInventory());
+        assertEquals(1, afterCommit.getInventory());
+    }
+
+    @Test
+    @DisplayName("Repeated role lookups by name are answered from the query cache")
+    void findByRoleName_Repeated_HitsQueryCache() {
+        //Given
+        sessionFactory.inTransaction(session -> {
+            Role role = new Role();
+            role.setName(Role.RoleName.ROLE_CUSTOMER);
+            session.persist(role);
+        });
+
+        //When
+        for (int i = 0; i < 3; i++) {
+            sessionFactory.inTransaction(session -> session
+                    .createQuery("FROM Role r WHERE r.name = :name", Role.class)
+                    .setParameter("name", Role.RoleName.ROLE_CUSTOMER)
+                    .setCacheable(true)
+                    .setCacheRegion("role-queries")
+                    .getSingleResult());
+        }
+
+        //Then
+        assertEquals(2, sessionFactory.getStatistics()
+                .getQueryRegionStatistics("role-queries").getHitCount());
+    }
+}
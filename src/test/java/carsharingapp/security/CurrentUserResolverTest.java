@@ -0,0 +1,72 @@
+package carsharingapp.security;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.model.User;
+import carsharingapp.repository.UserRepository;
+import carsharingapp.util.TestUtils;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserResolverTest {
+    @Mock
+    private UserRepository userRepository;
+    @InjectMocks
+    private CurrentUserResolver currentUserResolver;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Verify getCurrentUser() method. Should load the user once per request")
+    void getCurrentUser_RepeatedCalls_SingleQuery() {
+        //Given
+        User user = TestUtils.createUser(TestUtils.createRole());
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), 0,
+                Set.of("ROLE_CUSTOMER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null,
+                        principal.getAuthorities()));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        //When
+        User first = currentUserResolver.getCurrentUser();
+        User second = currentUserResolver.getCurrentUser();
+        User third = currentUserResolver.getCurrentUser();
+
+        //Then
+        assertSame(user, first);
+        assertSame(first, second);
+        assertSame(first, third);
+        verify(userRepository, times(1)).findById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Verify getCurrentUser() method. Should fail without an authenticated user")
+    void getCurrentUser_NoAuthentication_ThrowException() {
+        //When
+        assertThrows(AuthenticationCredentialsNotFoundException.class,
+                () -> currentUserResolver.getCurrentUser());
+
+        //Then
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,95 @@
+package carsharingapp.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.config.CacheConfig;
+import carsharingapp.model.User;
+import carsharingapp.repository.UserRepository;
+import carsharingapp.util.TestUtils;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig(CustomUserDetailsServiceTest.Config.class)
+class CustomUserDetailsServiceTest {
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        reset(userRepository);
+        cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE).clear();
+        user = TestUtils.createUser(TestUtils.createRole());
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    @DisplayName("Verify loadUserByUsername() method. Should serve repeated lookups from cache")
+    void loadUserByUsername_RepeatedCalls_QueryRepositoryOnce() {
+        //Given
+        final long hitsBefore = stats().hitCount();
+
+        //When
+        UserSnapshot first = userDetailsService.loadUserByUsername(user.getEmail());
+        UserSnapshot second = userDetailsService.loadUserByUsername(user.getEmail());
+
+        //Then
+        assertEquals(UserSnapshot.from(user), first);
+        assertEquals(first, second);
+        assertEquals(hitsBefore + 1, stats().hitCount());
+        verify(userRepository, times(1)).findByEmail(user.getEmail());
+    }
+
+    @Test
+    @DisplayName("Verify evict() method. Should reload the user after invalidation")
+    void evict_CachedUser_ReloadFromRepository() {
+        //Given
+        UserSnapshot cached = userDetailsService.loadUserByUsername(user.getEmail());
+
+        //When
+        userDetailsService.evict(user.getEmail());
+        UserSnapshot reloaded = userDetailsService.loadUserByUsername(user.getEmail());
+
+        //Then
+        assertEquals(cached, reloaded);
+        assertNotSame(cached, reloaded);
+        verify(userRepository, times(2)).findByEmail(user.getEmail());
+    }
+
+    private CacheStats stats() {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE);
+        Cache target = ((TransactionAwareCacheDecorator) cache).getTargetCache();
+        return ((CaffeineCache) target).getNativeCache().stats();
+    }
+
+    @Configuration
+    @Import({CacheConfig.class, CustomUserDetailsService.class})
+    static class Config {
+        @Bean
+        UserRepository userRepository() {
+            return mock(UserRepository.class);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package carsharingapp.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.repository.UserRepository;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionRegistryTest {
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private UserRepository userRepository;
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionRegistry = new TokenVersionRegistry(userRepository,
+                "maximumSize=100,expireAfterWrite=30s");
+    }
+
+    @Test
+    @DisplayName("Verify isCurrent() method. Should load the version once and cache it")
+    void isCurrent_MatchingVersion_LoadsOnce() {
+        //Given
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.of(0));
+
+        //When
+        boolean first = tokenVersionRegistry.isCurrent(USER_ID, 0);
+        boolean second = tokenVersionRegistry.isCurrent(USER_ID, 0);
+
+        //Then
+        assertTrue(first);
+        assertTrue(second);
+        verify(userRepository, times(1)).findTokenVersionById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Verify revoke() method. Should reject tokens issued before the revocation")
+    void revoke_IssuedToken_RejectOldVersion() {
+        //Given
+        when(userRepository.findTokenVersionById(USER_ID))
+                .thenReturn(Optional.of(0))
+                .thenReturn(Optional.of(1));
+        assertTrue(tokenVersionRegistry.isCurrent(USER_ID, 0));
+
+        //When
+        tokenVersionRegistry.revoke(USER_ID);
+
+        //Then
+        assertFalse(tokenVersionRegistry.isCurrent(USER_ID, 0));
+        assertTrue(tokenVersionRegistry.isCurrent(USER_ID, 1));
+        verify(userRepository, times(1)).incrementTokenVersion(USER_ID);
+        verify(userRepository, times(2)).findTokenVersionById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Verify isCurrent() method. Should reject tokens of deleted users")
+    void isCurrent_DeletedUser_ReturnFalse() {
+        //Given
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.empty());
+
+        //When
+        boolean current = tokenVersionRegistry.isCurrent(USER_ID, 0);
+
+        //Then
+        assertFalse(current);
+    }
+}
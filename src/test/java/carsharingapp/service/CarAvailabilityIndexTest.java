@@ -0,0 +1,124 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.dto.RentalBookingDto;
+import carsharingapp.model.Car;
+import carsharingapp.model.CarHold;
+import carsharingapp.repository.CarHoldRepository;
+import carsharingapp.repository.CarRepository;
+import carsharingapp.repository.RentalRepository;
+import carsharingapp.service.impl.CarAvailabilityIndex;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CarAvailabilityIndexTest {
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private CarRepository carRepository;
+    @Mock
+    private RentalRepository rentalRepository;
+    @Mock
+    private CarHoldRepository carHoldRepository;
+    @InjectMocks
+    private CarAvailabilityIndex carAvailabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        Car sedan = createCar(1L, Car.Type.SEDAN, 0);
+        Car suv = createCar(2L, Car.Type.SUV, 0);
+        Car secondSedan = createCar(3L, Car.Type.SEDAN, 2);
+        Car heldSuv = createCar(4L, Car.Type.SUV, 0);
+        when(carRepository.findAll()).thenReturn(List.of(sedan, suv, secondSedan, heldSuv));
+        when(rentalRepository.findOpenBookings()).thenReturn(List.of(
+                new RentalBookingDto(10L, 1L, TODAY.plusDays(1), TODAY.plusDays(4)),
+                new RentalBookingDto(20L, 2L, TODAY.minusDays(5), TODAY.minusDays(1))));
+        CarHold hold = new CarHold()
+                .setId(30L)
+                .setCarId(4L)
+                .setUserId(1L);
+        when(carHoldRepository.findAll()).thenReturn(List.of(hold));
+        carAvailabilityIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("findAvailableCarIds() method skips cars whose units are booked on a day")
+    void findAvailableCarIds_OverlappingBooking_ExcludeCar() {
+        //When
+        List<Long> overlapping = carAvailabilityIndex.findAvailableCarIds(
+                TODAY.plusDays(3), TODAY.plusDays(6), null);
+        List<Long> afterBooking = carAvailabilityIndex.findAvailableCarIds(
+                TODAY.plusDays(4), TODAY.plusDays(6), null);
+        //Then
+        assertEquals(List.of(3L), overlapping);
+        assertEquals(List.of(1L, 3L), afterBooking);
+    }
+
+    @Test
+    @DisplayName("findAvailableCarIds() method filters by car type")
+    void findAvailableCarIds_WithType_ReturnMatchingCars() {
+        //When
+        List<Long> actual = carAvailabilityIndex.findAvailableCarIds(
+                TODAY.plusDays(10), TODAY.plusDays(12), Car.Type.SEDAN);
+        //Then
+        assertEquals(List.of(1L, 3L), actual);
+    }
+
+    @Test
+    @DisplayName("release() method frees the unit of an overdue rental on every later day")
+    void release_OverdueRental_FreeCar() {
+        //When
+        List<Long> whileOverdue = carAvailabilityIndex.findAvailableCarIds(
+                TODAY.plusDays(30), TODAY.plusDays(31), Car.Type.SUV);
+        carAvailabilityIndex.release(2L, 20L);
+        List<Long> afterReturn = carAvailabilityIndex.findAvailableCarIds(
+                TODAY.plusDays(30), TODAY.plusDays(31), Car.Type.SUV);
+        //Then
+        assertEquals(List.of(), whileOverdue);
+        assertEquals(List.of(2L), afterReturn);
+    }
+
+    @Test
+    @DisplayName("book() and releaseHold() methods move a held unit onto the rental's days")
+    void bookAndReleaseHold_HoldTurnedIntoRental_BlockOnlyRentalDays() {
+        //When
+        carAvailabilityIndex.releaseHold(4L, 30L);
+        carAvailabilityIndex.book(4L, 40L, TODAY, TODAY.plusDays(2));
+        List<Long> duringRental = carAvailabilityIndex.findAvailableCarIds(
+                TODAY.plusDays(1), TODAY.plusDays(3), Car.Type.SUV);
+        List<Long> afterRental = carAvailabilityIndex.findAvailableCarIds(
+                TODAY.plusDays(2), TODAY.plusDays(3), Car.Type.SUV);
+        //Then
+        assertEquals(List.of(), duringRental);
+        assertEquals(List.of(4L), afterRental);
+    }
+
+    @Test
+    @DisplayName("book() method applied again for a rental the rebuild read is ignored")
+    void book_SameRentalTwice_CountOnce() {
+        //When
+        carAvailabilityIndex.book(3L, 50L, TODAY, TODAY.plusDays(2));
+        carAvailabilityIndex.book(3L, 50L, TODAY, TODAY.plusDays(2));
+        List<Long> actual = carAvailabilityIndex.findAvailableCarIds(
+                TODAY, TODAY.plusDays(1), Car.Type.SEDAN);
+        //Then
+        assertEquals(List.of(3L), actual);
+    }
+
+    private static Car createCar(Long id, Car.Type type, int inventory) {
+        return new Car()
+                .setId(id)
+                .setType(type)
+                .setInventory(inventory);
+    }
+}
@@ -0,0 +1,204 @@
+package carsharingapp.service;
+
+import static carsharingapp.util.TestUtils.VALID_ID;
+import static carsharingapp.util.TestUtils.createPageable;
+import static carsharingapp.util.TestUtils.createValidCar;
+import static carsharingapp.util.TestUtils.createValidCarRequestDto;
+import static carsharingapp.util.TestUtils.createValidCarResponseDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.config.CacheConfig;
+import carsharingapp.dto.CarResponseDto;
+import carsharingapp.event.CarChangedEvent;
+import carsharingapp.mapper.CarMapper;
+import carsharingapp.model.Car;
+import carsharingapp.repository.CarRepository;
+import carsharingapp.service.impl.CarAvailabilityIndex;
+import carsharingapp.service.impl.CarCatalogPages;
+import carsharingapp.service.impl.CarLocationIndex;
+import carsharingapp.service.impl.CarServiceImpl;
+import carsharingapp.service.impl.InventoryReservationService;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig(CarCatalogCacheTest.Config.class)
+class CarCatalogCacheTest {
+    @Autowired
+    private CarService carService;
+    @Autowired
+    private InventoryReservationService inventoryReservationService;
+    @Autowired
+    private CarRepository carRepository;
+    @Autowired
+    private CarMapper carMapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private CacheManager cacheManager;
+    private Car car;
+
+    @BeforeEach
+    void setUp() {
+        reset(carRepository, carMapper);
+        cacheManager.getCache(CacheConfig.CARS_CACHE).clear();
+        cacheManager.getCache(CacheConfig.CAR_PAGES_CACHE).clear();
+        car = createValidCar();
+        when(carMapper.toDto(any(Car.class))).thenReturn(createValidCarResponseDto());
+    }
+
+    @Test
+    @DisplayName("getCarById() method serves repeated reads from cache")
+    void getCarById_RepeatedCalls_QueryRepositoryOnce() {
+        //Given
+        when(carRepository.findById(VALID_ID)).thenReturn(Optional.of(car));
+        //When
+        CarResponseDto first = carService.getCarById(VALID_ID);
+        CarResponseDto second = carService.getCarById(VALID_ID);
+        //Then
+        assertEquals(first, second);
+        verify(carRepository, times(1)).findById(VALID_ID);
+    }
+
+    @Test
+    @DisplayName("getCarById() method loads a missing car once for concurrent readers")
+    void getCarById_ConcurrentMisses_SingleLoad() throws Exception {
+        //Given
+        final int threads = 8;
+        when(carRepository.findById(VALID_ID)).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return Optional.of(car);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CarResponseDto>> results = new ArrayList<>();
+        //When
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return carService.getCarById(VALID_ID);
+            }));
+        }
+        start.countDown();
+        for (Future<CarResponseDto> result : results) {
+            assertEquals(createValidCarResponseDto(), result.get());
+        }
+        executor.shutdown();
+        //Then
+        verify(carRepository, times(1)).findById(VALID_ID);
+    }
+
+    @Test
+    @DisplayName("updateCarById() method evicts the car and the cached pages")
+    void updateCarById_CachedCar_ReloadAfterUpdate() {
+        //Given
+        Pageable pageable = createPageable();
+        when(carRepository.findById(VALID_ID)).thenReturn(Optional.of(car));
+        when(carRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(car)));
+        when(carMapper.updateCar(any(), any())).thenReturn(car);
+        carService.getCarById(VALID_ID);
+        carService.getAllCars(pageable);
+        //When
+        carService.updateCarById(VALID_ID, createValidCarRequestDto());
+        carService.getCarById(VALID_ID);
+        carService.getAllCars(pageable);
+        //Then
+        verify(carRepository, times(3)).findById(VALID_ID);
+        verify(carRepository, times(2)).findAll(pageable);
+    }
+
+    @Test
+    @DisplayName("CarChangedEvent evicts only the cached pages that list the changed car")
+    void onCarChanged_CachedPages_ReloadOnlyPagesWithCar() {
+        //Given
+        Pageable withCar = createPageable();
+        Pageable withoutCar = PageRequest.of(withCar.getPageNumber() + 1, withCar.getPageSize());
+        Car otherCar = createValidCar().setId(VALID_ID + 1);
+        when(carRepository.findAll(withCar)).thenReturn(new PageImpl<>(List.of(car)));
+        when(carRepository.findAll(withoutCar)).thenReturn(new PageImpl<>(List.of(otherCar)));
+        when(carMapper.toDto(otherCar)).thenReturn(createValidCarResponseDto()
+                .setId(otherCar.getId()));
+        carService.getAllCars(withCar);
+        carService.getAllCars(withoutCar);
+        //When
+        eventPublisher.publishEvent(new CarChangedEvent(VALID_ID));
+        carService.getAllCars(withCar);
+        carService.getAllCars(withoutCar);
+        //Then
+        verify(carRepository, times(2)).findAll(withCar);
+        verify(carRepository, times(1)).findAll(withoutCar);
+    }
+
+    @Test
+    @DisplayName("reserve() method evicts the reserved car")
+    void reserve_CachedCar_ReloadAfterInventoryChange() {
+        //Given
+        when(carRepository.findById(VALID_ID)).thenReturn(Optional.of(car));
+        when(carRepository.decrementInventory(VALID_ID)).thenReturn(1);
+        carService.getCarById(VALID_ID);
+        //When
+        inventoryReservationService.reserve(VALID_ID);
+        carService.getCarById(VALID_ID);
+        //Then
+        verify(carRepository, times(2)).findById(VALID_ID);
+    }
+
+    @Configuration
+    @Import({CacheConfig.class, CarServiceImpl.class, CarCatalogPages.class,
+            InventoryReservationService.class})
+    static class Config {
+        @Bean
+        CarRepository carRepository() {
+            return mock(CarRepository.class);
+        }
+
+        @Bean
+        CarMapper carMapper() {
+            return mock(CarMapper.class);
+        }
+
+        @Bean
+        CarAvailabilityIndex carAvailabilityIndex() {
+            return mock(CarAvailabilityIndex.class);
+        }
+
+        @Bean
+        CarLocationIndex carLocationIndex() {
+            return mock(CarLocationIndex.class);
+        }
+
+        @Bean
+        EntityManager entityManager() {
+            EntityManager entityManager = mock(EntityManager.class);
+            when(entityManager.unwrap(SessionImplementor.class))
+                    .thenReturn(mock(SessionImplementor.class, RETURNS_DEEP_STUBS));
+            return entityManager;
+        }
+    }
+}
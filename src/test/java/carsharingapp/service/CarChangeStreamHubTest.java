@@ -0,0 +1,137 @@
+package carsharingapp.service;
+
+import static carsharingapp.util.TestUtils.createValidCar;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.event.CarChangedEvent;
+import carsharingapp.repository.CarRepository;
+import carsharingapp.service.impl.CarChangeStreamHub;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@ExtendWith(MockitoExtension.class)
+class CarChangeStreamHubTest {
+    @Mock
+    private CarRepository carRepository;
+    private CarChangeStreamHub carChangeStreamHub;
+
+    @BeforeEach
+    void setUp() {
+        carChangeStreamHub = new CarChangeStreamHub(carRepository, new ObjectMapper(),
+                new SimpleMeterRegistry());
+        carChangeStreamHub.setFlushIntervalMillis(60_000);
+        carChangeStreamHub.setMaxPendingEvents(2);
+        carChangeStreamHub.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        carChangeStreamHub.stop();
+    }
+
+    @Test
+    @DisplayName("flush() coalesces a burst of changes into one event per car")
+    void flush_WithBurstOfChanges_SendsOneEventPerCar() throws Exception {
+        //Given
+        SseEmitter emitter = mock(SseEmitter.class);
+        carChangeStreamHub.register(emitter);
+        when(carRepository.findAllById(any()))
+                .thenReturn(List.of(createValidCar().setId(1L), createValidCar().setId(2L)));
+        for (int i = 0; i < 5; i++) {
+            carChangeStreamHub.onCarChanged(new CarChangedEvent(1L));
+        }
+        carChangeStreamHub.onCarChanged(new CarChangedEvent(2L));
+
+        //When
+        carChangeStreamHub.flush();
+
+        //Then
+        verify(carRepository, times(1)).findAllById(any());
+        verify(emitter, timeout(1_000).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("flush() drops a subscriber that can't keep up")
+    void flush_WithSlowSubscriber_DropsSubscriber() throws Exception {
+        //Given
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        SseEmitter slow = mock(SseEmitter.class);
+        doAnswer(invocation -> {
+            blocked.countDown();
+            released.await();
+            return null;
+        }).when(slow).send(any(SseEmitter.SseEventBuilder.class));
+        carChangeStreamHub.register(slow);
+        when(carRepository.findAllById(any())).thenReturn(List.of());
+        carChangeStreamHub.onCarChanged(new CarChangedEvent(1L));
+        carChangeStreamHub.flush();
+        blocked.await();
+
+        //When
+        for (long carId = 2; carId <= 4; carId++) {
+            carChangeStreamHub.onCarChanged(new CarChangedEvent(carId));
+            carChangeStreamHub.flush();
+        }
+        released.countDown();
+
+        //Then
+        assertEquals(0, carChangeStreamHub.subscriberCount());
+        verify(slow, timeout(1_000)).complete();
+    }
+
+    @Test
+    @DisplayName("flush() drops a subscriber stuck in a send while others keep receiving")
+    void flush_WithStalledSubscriber_DropsSubscriberAndKeepsOthers() throws Exception {
+        //Given
+        carChangeStreamHub.setSendTimeoutMillis(50);
+        CountDownLatch blocked = new CountDownLatch(1);
+        SseEmitter stalled = mock(SseEmitter.class);
+        doAnswer(invocation -> {
+            blocked.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                throw new IOException("Broken pipe", e);
+            }
+            return null;
+        }).when(stalled).send(any(SseEmitter.SseEventBuilder.class));
+        SseEmitter healthy = mock(SseEmitter.class);
+        carChangeStreamHub.register(stalled);
+        carChangeStreamHub.register(healthy);
+        when(carRepository.findAllById(any())).thenReturn(List.of());
+        carChangeStreamHub.onCarChanged(new CarChangedEvent(1L));
+        carChangeStreamHub.flush();
+        blocked.await();
+        verify(healthy, timeout(1_000)).send(any(SseEmitter.SseEventBuilder.class));
+        Thread.sleep(100);
+
+        //When
+        carChangeStreamHub.onCarChanged(new CarChangedEvent(2L));
+        carChangeStreamHub.flush();
+
+        //Then
+        assertEquals(1, carChangeStreamHub.subscriberCount());
+        verify(healthy, timeout(1_000).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(stalled, timeout(1_000)).completeWithError(any(IOException.class));
+        verify(stalled, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+}
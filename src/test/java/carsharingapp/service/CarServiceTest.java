@@ -7,18 +7,27 @@ import static carsharingapp.util.TestUtils.createValidCar;
 import static carsharingapp.util.TestUtils.createValidCarRequestDto;
 import static carsharingapp.util.TestUtils.createValidCarResponseDto;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import carsharingapp.dto.CarRequestDto;
 import carsharingapp.dto.CarResponseDto;
+import carsharingapp.dto.CarScrollResponseDto;
+import carsharingapp.dto.NearbyCarResponseDto;
 import carsharingapp.exception.EntityNotFoundException;
 import carsharingapp.mapper.CarMapper;
 import carsharingapp.model.Car;
 import carsharingapp.repository.CarRepository;
+import carsharingapp.service.impl.CarAvailabilityIndex;
+import carsharingapp.service.impl.CarCatalogPages;
+import carsharingapp.service.impl.CarLocationIndex;
 import carsharingapp.service.impl.CarServiceImpl;
+import carsharingapp.service.impl.GeoGridIndex;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
@@ -27,7 +36,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 
@@ -38,6 +48,14 @@ public class CarServiceTest {
     private CarRepository carRepository;
     @Mock
     private CarMapper carMapper;
+    @Mock
+    private CarAvailabilityIndex carAvailabilityIndex;
+    @Mock
+    private CarLocationIndex carLocationIndex;
+    @Mock
+    private CarCatalogPages carCatalogPages;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private CarServiceImpl carService;
 
@@ -61,19 +79,77 @@ public class CarServiceTest {
     @DisplayName("getAll() method works")
     public void getAll_WithValidPageable_ReturnCarResponseDtoList() {
         //Given
-        Car car = createValidCar();
         CarResponseDto responseDto = createValidCarResponseDto();
         List<CarResponseDto> expected = List.of(responseDto);
         Pageable pageable = createPageable();
-        when(carRepository.findAll(pageable))
-                .thenReturn(new PageImpl<>(List.of(car)));
-        when(carMapper.toDto(car)).thenReturn(responseDto);
+        when(carCatalogPages.findPage(pageable)).thenReturn(List.of(responseDto));
         //When
         List<CarResponseDto> actual = carService.getAllCars(pageable);
         //Then
         assertEquals(expected, actual);
     }
 
+    @Test
+    @DisplayName("scrollCars() method returns a cursor that continues after the last car")
+    public void scrollCars_WithMoreCars_ReturnNextCursor() {
+        //Given
+        Car first = createValidCar().setId(1L);
+        Car second = createValidCar().setId(2L);
+        Car third = createValidCar().setId(3L);
+        CarResponseDto responseDto = createValidCarResponseDto();
+        when(carRepository.findNextPage(0L, Limit.of(3)))
+                .thenReturn(List.of(first, second, third));
+        when(carRepository.findNextPage(2L, Limit.of(3)))
+                .thenReturn(List.of(third));
+        when(carMapper.toDto(any(Car.class))).thenReturn(responseDto);
+        //When
+        CarScrollResponseDto firstSlice = carService.scrollCars(null, 2);
+        CarScrollResponseDto lastSlice = carService.scrollCars(firstSlice.nextCursor(), 2);
+        //Then
+        assertEquals(2, firstSlice.cars().size());
+        assertNotNull(firstSlice.nextCursor());
+        assertEquals(1, lastSlice.cars().size());
+        assertNull(lastSlice.nextCursor());
+    }
+
+    @Test
+    @DisplayName("scrollCars() method with a malformed cursor throws IllegalArgumentException")
+    public void scrollCars_WithInvalidCursor_ThrowsIllegalArgumentException() {
+        //Then
+        assertThrows(IllegalArgumentException.class,
+                () -> carService.scrollCars("not-a-cursor", 20));
+    }
+
+    @Test
+    @DisplayName("getNearbyCars() method keeps the index order and distances")
+    public void getNearbyCars_WithIndexedCars_ReturnCarsOrderedByDistance() {
+        //Given
+        Car near = createValidCar().setId(1L);
+        Car far = createValidCar().setId(2L);
+        CarResponseDto nearDto = createValidCarResponseDto().setId(1L);
+        CarResponseDto farDto = createValidCarResponseDto().setId(2L);
+        when(carLocationIndex.findNearest(50.45, 30.52, 1_000, 10, Car.Type.SEDAN))
+                .thenReturn(List.of(new GeoGridIndex.Neighbor<>(1L, 120, Car.Type.SEDAN),
+                        new GeoGridIndex.Neighbor<>(2L, 640, Car.Type.SEDAN)));
+        when(carRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(far, near));
+        when(carMapper.toDto(near)).thenReturn(nearDto);
+        when(carMapper.toDto(far)).thenReturn(farDto);
+        //When
+        List<NearbyCarResponseDto> actual = carService.getNearbyCars(50.45, 30.52, 1_000,
+                "sedan", 10);
+        //Then
+        assertEquals(List.of(new NearbyCarResponseDto(nearDto, 120),
+                new NearbyCarResponseDto(farDto, 640)), actual);
+    }
+
+    @Test
+    @DisplayName("getNearbyCars() method with invalid coordinates throws IllegalArgumentException")
+    public void getNearbyCars_WithInvalidCoordinates_ThrowsIllegalArgumentException() {
+        //Then
+        assertThrows(IllegalArgumentException.class,
+                () -> carService.getNearbyCars(91, 30.52, 1_000, null, 10));
+    }
+
     @Test
     @DisplayName("getById() method works")
     public void getById_WithValidId_ReturnCarResponseDto() {
@@ -0,0 +1,90 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import carsharingapp.model.Car;
+import carsharingapp.service.impl.GeoGridIndex;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class GeoGridIndexTest {
+    private static final double LATITUDE = 50.45;
+    private static final double LONGITUDE = 30.52;
+
+    @Test
+    @DisplayName("nearest() returns the closest matching points ordered by distance")
+    void nearest_WithMixedPoints_ReturnsClosestMatchingPoints() {
+        //Given
+        GeoGridIndex<Car.Type> index = new GeoGridIndex<>(0.01);
+        index.put(1L, LATITUDE + 0.001, LONGITUDE, Car.Type.SEDAN);
+        index.put(2L, LATITUDE + 0.02, LONGITUDE, Car.Type.SEDAN);
+        index.put(3L, LATITUDE, LONGITUDE + 0.0005, Car.Type.SUV);
+        index.put(4L, LATITUDE - 0.005, LONGITUDE, Car.Type.SEDAN);
+        index.put(5L, LATITUDE + 0.5, LONGITUDE, Car.Type.SEDAN);
+
+        //When
+        List<GeoGridIndex.Neighbor<Car.Type>> actual = index.nearest(LATITUDE, LONGITUDE,
+                5_000, 2, type -> type == Car.Type.SEDAN);
+
+        //Then
+        assertEquals(List.of(1L, 4L), actual.stream().map(GeoGridIndex.Neighbor::id).toList());
+        assertTrue(actual.get(0).distanceMeters() < actual.get(1).distanceMeters());
+    }
+
+    @Test
+    @DisplayName("nearest() skips removed points and points outside the radius")
+    void nearest_AfterRemove_SkipsRemovedPoints() {
+        //Given
+        GeoGridIndex<Car.Type> index = new GeoGridIndex<>(0.01);
+        index.put(1L, LATITUDE, LONGITUDE, Car.Type.SEDAN);
+        index.put(2L, LATITUDE + 0.1, LONGITUDE, Car.Type.SEDAN);
+        index.put(1L, LATITUDE + 0.002, LONGITUDE, Car.Type.SEDAN);
+        index.remove(1L);
+
+        //When
+        List<GeoGridIndex.Neighbor<Car.Type>> actual = index.nearest(LATITUDE, LONGITUDE,
+                1_000, 10, null);
+
+        //Then
+        assertTrue(actual.isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("nearest() matches a linear scan over random positions")
+    void nearest_WithRandomPositions_MatchesLinearScan() {
+        //Given
+        Random random = new Random(7);
+        GeoGridIndex<Car.Type> index = new GeoGridIndex<>(0.01);
+        List<double[]> points = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            double latitude = LATITUDE + (random.nextDouble() - 0.5) * 0.3;
+            double longitude = LONGITUDE + (random.nextDouble() - 0.5) * 0.3;
+            index.put(i, latitude, longitude, Car.Type.SEDAN);
+            points.add(new double[] {i, latitude, longitude});
+        }
+        List<Long> expected = points.stream()
+                .filter(point -> distance(point) <= 3_000)
+                .sorted(Comparator.comparingDouble(GeoGridIndexTest::distance))
+                .limit(15)
+                .map(point -> (long) point[0])
+                .toList();
+
+        //When
+        List<Long> actual = index.nearest(LATITUDE, LONGITUDE, 3_000, 15, null).stream()
+                .map(GeoGridIndex.Neighbor::id)
+                .toList();
+
+        //Then
+        assertEquals(expected, actual);
+    }
+
+    private static double distance(double[] point) {
+        return GeoGridIndex.distanceMeters(LATITUDE, LONGITUDE, point[1], point[2]);
+    }
+}
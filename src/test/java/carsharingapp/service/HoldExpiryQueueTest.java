@@ -0,0 +1,97 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.event.CarChangedEvent;
+import carsharingapp.model.CarHold;
+import carsharingapp.repository.CarHoldRepository;
+import carsharingapp.service.impl.CarAvailabilityIndex;
+import carsharingapp.service.impl.CarLocationIndex;
+import carsharingapp.service.impl.HoldExpiryQueue;
+import carsharingapp.service.impl.InventoryReservationService;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class HoldExpiryQueueTest {
+    private static final Long HOLD_ID = 5L;
+    private static final Long CAR_ID = 3L;
+
+    @Mock
+    private CarHoldRepository carHoldRepository;
+    @Mock
+    private InventoryReservationService inventoryReservationService;
+    @Mock
+    private CarAvailabilityIndex carAvailabilityIndex;
+    @Mock
+    private CarLocationIndex carLocationIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private TransactionTemplate transactionTemplate =
+            new TransactionTemplate(mock(PlatformTransactionManager.class));
+    @InjectMocks
+    private HoldExpiryQueue holdExpiryQueue;
+
+    @AfterEach
+    void tearDown() {
+        holdExpiryQueue.stop();
+    }
+
+    @Test
+    @DisplayName("rebuild() schedules stored holds and releases the unit once they expire")
+    void rebuild_WithStoredHolds_ReleasesExpiredHold() {
+        //Given
+        CarHold hold = new CarHold()
+                .setId(HOLD_ID)
+                .setCarId(CAR_ID)
+                .setUserId(1L)
+                .setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        when(carHoldRepository.findAll()).thenReturn(List.of(hold));
+        when(carHoldRepository.deleteHold(HOLD_ID)).thenReturn(1);
+        holdExpiryQueue.start();
+
+        //When
+        holdExpiryQueue.rebuild();
+
+        //Then
+        verify(inventoryReservationService, timeout(1_000)).release(CAR_ID);
+        verify(carAvailabilityIndex, timeout(1_000)).releaseHold(CAR_ID, HOLD_ID);
+        verify(carLocationIndex, timeout(1_000)).onUnitReleased(CAR_ID);
+        verify(eventPublisher, timeout(1_000)).publishEvent(new CarChangedEvent(CAR_ID));
+        assertEquals(0, holdExpiryQueue.size());
+    }
+
+    @Test
+    @DisplayName("release() leaves inventory alone when the hold was already turned into a rental")
+    void release_WithConsumedHold_DoesNotReleaseUnit() {
+        //Given
+        when(carHoldRepository.deleteHold(HOLD_ID)).thenReturn(0);
+
+        //When
+        boolean released = holdExpiryQueue.release(HOLD_ID, CAR_ID);
+
+        //Then
+        assertFalse(released);
+        verify(inventoryReservationService, never()).release(any());
+        verify(carAvailabilityIndex, never()).releaseHold(any(), any());
+    }
+}
@@ -0,0 +1,105 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.dto.HoldResponseDto;
+import carsharingapp.exception.RentalException;
+import carsharingapp.model.CarHold;
+import carsharingapp.repository.CarHoldRepository;
+import carsharingapp.service.impl.CarAvailabilityIndex;
+import carsharingapp.service.impl.CarLocationIndex;
+import carsharingapp.service.impl.HoldExpiryQueue;
+import carsharingapp.service.impl.HoldServiceImpl;
+import carsharingapp.service.impl.InventoryReservationService;
+import java.sql.SQLException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+class HoldServiceTest {
+    private static final Long USER_ID = 2L;
+    private static final Long CAR_ID = 3L;
+
+    @Mock
+    private CarHoldRepository carHoldRepository;
+    @Mock
+    private UserService userService;
+    @Mock
+    private InventoryReservationService inventoryReservationService;
+    @Mock
+    private HoldExpiryQueue holdExpiryQueue;
+    @Mock
+    private CarAvailabilityIndex carAvailabilityIndex;
+    @Mock
+    private CarLocationIndex carLocationIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @InjectMocks
+    private HoldServiceImpl holdService;
+
+    @Test
+    @DisplayName("createHoldForUser() takes the unit from inventory and the availability index")
+    void createHoldForUser_FreeUnit_TakesUnitFromIndexes() {
+        //Given
+        when(carHoldRepository.existsByUserId(USER_ID)).thenReturn(false);
+        when(carHoldRepository.saveAndFlush(any(CarHold.class))).thenAnswer(invocation ->
+                invocation.<CarHold>getArgument(0).setId(7L));
+
+        //When
+        HoldResponseDto actual = holdService.createHoldForUser(USER_ID, CAR_ID);
+
+        //Then
+        assertEquals(CAR_ID, actual.carId());
+        verify(inventoryReservationService).reserve(CAR_ID);
+        verify(carAvailabilityIndex).hold(CAR_ID, 7L);
+        verify(carLocationIndex).onUnitTaken(CAR_ID);
+    }
+
+    @Test
+    @DisplayName("createHoldForUser() rejects a second hold of the same user")
+    void createHoldForUser_UserAlreadyHolds_ThrowsRentalException() {
+        //Given
+        when(carHoldRepository.existsByUserId(USER_ID)).thenReturn(true);
+
+        //When
+        assertThrows(RentalException.class,
+                () -> holdService.createHoldForUser(USER_ID, CAR_ID));
+
+        //Then
+        verify(inventoryReservationService, never()).reserve(anyLong());
+        verify(carAvailabilityIndex, never()).hold(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("createHoldForUser() rejects a parallel second hold caught by the unique key")
+    void createHoldForUser_ConcurrentSecondHold_ThrowsRentalException() {
+        //Given
+        when(carHoldRepository.existsByUserId(USER_ID)).thenReturn(false);
+        when(carHoldRepository.saveAndFlush(any(CarHold.class))).thenThrow(
+                new DataIntegrityViolationException("Duplicate entry",
+                        new ConstraintViolationException("Duplicate entry", new SQLException(),
+                                "car_holds.uq_car_holds_user_id")));
+
+        //When
+        RentalException exception = assertThrows(RentalException.class,
+                () -> holdService.createHoldForUser(USER_ID, CAR_ID));
+
+        //Then
+        assertEquals("Sorry, but you already hold a car.", exception.getMessage());
+        verify(holdExpiryQueue, never()).schedule(any());
+        verify(carAvailabilityIndex, never()).hold(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,304 @@
+package carsharingapp.service;
+
+import static carsharingapp.util.TestUtils.createValidRentalResponseDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.dto.PaymentRequestDto;
+import carsharingapp.dto.RentalResponseDto;
+import carsharingapp.exception.IdempotencyKeyReuseException;
+import carsharingapp.exception.RequestInProgressException;
+import carsharingapp.model.IdempotencyKey;
+import carsharingapp.repository.IdempotencyKeyRepository;
+import carsharingapp.service.impl.IdempotencyServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+    private static final String OPERATION = "rentals.create";
+    private static final String KEY = "retry-1";
+    private static final Long CLAIM_ID = 7L;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock
+    private UserService userService;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        when(userService.getCurrentUserId()).thenReturn(1L);
+        idempotencyService = new IdempotencyServiceImpl(idempotencyKeyRepository, userService,
+                objectMapper, "maximumSize=100", 5_000, 10, 60_000, 24);
+    }
+
+    @Test
+    @DisplayName("execute() runs the action once and replays its response for the same key")
+    void execute_WithRepeatedKey_ReplaysFirstResponse() {
+        //Given
+        claimSucceeds();
+        AtomicInteger calls = new AtomicInteger();
+        RentalResponseDto expected = createValidRentalResponseDto();
+
+        //When
+        RentalResponseDto first = idempotencyService.execute(OPERATION, KEY, request(5L),
+                RentalResponseDto.class, () -> {
+                    calls.incrementAndGet();
+                    return expected;
+                });
+        RentalResponseDto second = idempotencyService.execute(OPERATION, KEY, request(5L),
+                RentalResponseDto.class, () -> {
+                    calls.incrementAndGet();
+                    return expected;
+                });
+
+        //Then
+        assertEquals(1, calls.get());
+        assertEquals(expected, first);
+        assertEquals(expected, second);
+        verify(idempotencyKeyRepository).saveAndFlush(any(IdempotencyKey.class));
+        verify(idempotencyKeyRepository).complete(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("execute() makes a concurrent duplicate wait for the in-flight request")
+    void execute_WithConcurrentDuplicate_WaitsForFirstRequest() throws Exception {
+        //Given
+        claimSucceeds();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RentalResponseDto expected = createValidRentalResponseDto();
+        CompletableFuture<RentalResponseDto> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(OPERATION, KEY, request(5L),
+                        RentalResponseDto.class, () -> {
+                            calls.incrementAndGet();
+                            started.countDown();
+                            awaitQuietly(release);
+                            return expected;
+                        }));
+        started.await(1, TimeUnit.SECONDS);
+
+        //When
+        CompletableFuture<RentalResponseDto> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(OPERATION, KEY, request(5L),
+                        RentalResponseDto.class, () -> {
+                            calls.incrementAndGet();
+                            return expected;
+                        }));
+        release.countDown();
+
+        //Then
+        assertEquals(expected, first.get(1, TimeUnit.SECONDS));
+        assertEquals(expected, duplicate.get(1, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("execute() answers from the stored key after the in-memory entry is gone")
+    void execute_WithStoredKey_ReplaysFromDatabase() throws Exception {
+        //Given
+        RentalResponseDto expected = createValidRentalResponseDto();
+        when(idempotencyKeyRepository.findByUserIdAndOperationAndKey(1L, OPERATION, KEY))
+                .thenReturn(Optional.of(storedKey(IdempotencyKey.Status.COMPLETED, expected)));
+        IdempotencyServiceImpl restarted = new IdempotencyServiceImpl(idempotencyKeyRepository,
+                userService, objectMapper, "maximumSize=100", 5_000, 10, 60_000, 24);
+
+        //When
+        RentalResponseDto actual = restarted.execute(OPERATION, KEY, request(5L),
+                RentalResponseDto.class, () -> {
+                    throw new IllegalStateException("Must not run twice");
+                });
+
+        //Then
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("execute() rejects a key reused with a different request")
+    void execute_WithDifferentRequest_ThrowsException() {
+        //Given
+        claimSucceeds();
+        idempotencyService.execute(OPERATION, KEY, request(5L), RentalResponseDto.class,
+                () -> createValidRentalResponseDto());
+
+        //When
+        IdempotencyKeyReuseException exception = assertThrows(
+                IdempotencyKeyReuseException.class,
+                () -> idempotencyService.execute(OPERATION, KEY, request(6L),
+                        RentalResponseDto.class, () -> createValidRentalResponseDto()));
+
+        //Then
+        assertEquals("This idempotency key was already used with a different request",
+                exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("execute() replays the response of a request another node claimed first")
+    void execute_WithKeyClaimedElsewhere_ReplaysStoredResponse() throws Exception {
+        //Given
+        RentalResponseDto expected = createValidRentalResponseDto();
+        when(idempotencyKeyRepository.findByUserIdAndOperationAndKey(1L, OPERATION, KEY))
+                .thenReturn(Optional.empty(),
+                        Optional.of(storedKey(IdempotencyKey.Status.IN_PROGRESS, null)),
+                        Optional.of(storedKey(IdempotencyKey.Status.COMPLETED, expected)));
+        when(idempotencyKeyRepository.saveAndFlush(any(IdempotencyKey.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        //When
+        RentalResponseDto actual = idempotencyService.execute(OPERATION, KEY, request(5L),
+                RentalResponseDto.class, () -> {
+                    throw new IllegalStateException("Must not run twice");
+                });
+
+        //Then
+        assertEquals(expected, actual);
+        verify(idempotencyKeyRepository, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("execute() answers 'in progress' while another node holds the key too long")
+    void execute_WithKeyInProgressElsewhere_ThrowsException() throws Exception {
+        //Given
+        when(idempotencyKeyRepository.findByUserIdAndOperationAndKey(1L, OPERATION, KEY))
+                .thenReturn(Optional.of(storedKey(IdempotencyKey.Status.IN_PROGRESS, null)));
+        IdempotencyServiceImpl impatient = new IdempotencyServiceImpl(idempotencyKeyRepository,
+                userService, objectMapper, "maximumSize=100", 50, 10, 60_000, 24);
+
+        //When
+        RequestInProgressException exception = assertThrows(RequestInProgressException.class,
+                () -> impatient.execute(OPERATION, KEY, request(5L), RentalResponseDto.class,
+                        () -> {
+                            throw new IllegalStateException("Must not run twice");
+                        }));
+
+        //Then
+        assertEquals("A request with this idempotency key is still being processed",
+                exception.getMessage());
+        verify(idempotencyKeyRepository, never()).saveAndFlush(any(IdempotencyKey.class));
+    }
+
+    @Test
+    @DisplayName("execute() releases the key when the action fails so a retry can run it")
+    void execute_WithFailingAction_ReleasesKey() {
+        //Given
+        claimSucceeds();
+
+        //When
+        assertThrows(IllegalStateException.class,
+                () -> idempotencyService.execute(OPERATION, KEY, request(5L),
+                        RentalResponseDto.class, () -> {
+                            throw new IllegalStateException("Car is not available");
+                        }));
+
+        //Then
+        verify(idempotencyKeyRepository).release(eq(CLAIM_ID), any());
+        verify(idempotencyKeyRepository, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("execute() returns the committed response and replays it when storing fails")
+    void execute_WithFailingStore_ReturnsResponseAndKeepsKey() {
+        //Given
+        claimSucceeds();
+        RentalResponseDto expected = createValidRentalResponseDto();
+        when(idempotencyKeyRepository.complete(eq(CLAIM_ID), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("Connection lost"));
+
+        //When
+        RentalResponseDto actual = idempotencyService.execute(OPERATION, KEY, request(5L),
+                RentalResponseDto.class, () -> expected);
+        RentalResponseDto retried = idempotencyService.execute(OPERATION, KEY, request(5L),
+                RentalResponseDto.class, () -> {
+                    throw new IllegalStateException("Must not run twice");
+                });
+
+        //Then
+        assertEquals(expected, actual);
+        assertEquals(expected, retried);
+        verify(idempotencyKeyRepository, never()).release(any(), any());
+    }
+
+    @Test
+    @DisplayName("execute() takes over a key whose claim expired and runs the request again")
+    void execute_WithStaleClaim_TakesOverKey() throws Exception {
+        //Given
+        RentalResponseDto expected = createValidRentalResponseDto();
+        when(idempotencyKeyRepository.findByUserIdAndOperationAndKey(1L, OPERATION, KEY))
+                .thenReturn(Optional.of(storedKey(IdempotencyKey.Status.IN_PROGRESS, null)
+                        .setClaimedAt(LocalDateTime.now().minusMinutes(5))));
+        when(idempotencyKeyRepository.takeOver(eq(CLAIM_ID), any(), any(), any()))
+                .thenReturn(1);
+        when(idempotencyKeyRepository.complete(eq(CLAIM_ID), any(), any())).thenReturn(1);
+
+        //When
+        RentalResponseDto actual = idempotencyService.execute(OPERATION, KEY, request(5L),
+                RentalResponseDto.class, () -> expected);
+
+        //Then
+        assertEquals(expected, actual);
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyKeyRepository).takeOver(eq(CLAIM_ID), token.capture(), any(), any());
+        verify(idempotencyKeyRepository).complete(eq(CLAIM_ID), eq(token.getValue()), any());
+        verify(idempotencyKeyRepository, never()).saveAndFlush(any(IdempotencyKey.class));
+    }
+
+    private void claimSucceeds() {
+        when(idempotencyKeyRepository.saveAndFlush(any(IdempotencyKey.class)))
+                .thenAnswer(invocation -> invocation.<IdempotencyKey>getArgument(0)
+                        .setId(CLAIM_ID));
+    }
+
+    private IdempotencyKey storedKey(IdempotencyKey.Status status, RentalResponseDto response)
+            throws Exception {
+        return new IdempotencyKey()
+                .setId(CLAIM_ID)
+                .setUserId(1L)
+                .setOperation(OPERATION)
+                .setKey(KEY)
+                .setRequestHash(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                        .digest(objectMapper.writeValueAsBytes(request(5L)))))
+                .setStatus(status)
+                .setClaimToken("owner")
+                .setClaimedAt(LocalDateTime.now())
+                .setResponseBody(response == null ? null
+                        : objectMapper.writeValueAsString(response));
+    }
+
+    private PaymentRequestDto request(Long rentalId) {
+        PaymentRequestDto requestDto = new PaymentRequestDto();
+        requestDto.setRentalId(rentalId);
+        return requestDto;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package carsharingapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import carsharingapp.exception.CarAvailableException;
+import carsharingapp.model.Car;
+import carsharingapp.repository.CarRepository;
+import carsharingapp.service.impl.InventoryReservationService;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Sql(scripts = "classpath:db/insert-cars-to-cars_table.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:db/delete-cars-from-cars_table.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@DataJpaTest
+@Import(InventoryReservationService.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryReservationServiceTest {
+    private static final Long CAR_ID = 1L;
+    private static final int CAR_INVENTORY = 5;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+
+    @Autowired
+    private InventoryReservationService inventoryReservationService;
+    @Autowired
+    private CarRepository carRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("reserve() never oversells a car when many threads book it at once")
+    void reserve_FromManyThreads_InventoryNeverGoesNegative() throws Exception {
+        List<Integer> reservedPerThread = runConcurrently(() -> {
+            int reserved = 0;
+            for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                try {
+                    inventoryReservationService.reserve(CAR_ID);
+                    reserved++;
+                } catch (CarAvailableException e) {
+                    // sold out, keep hammering
+                }
+            }
+            return reserved;
+        });
+
+        int totalReserved = reservedPerThread.stream().mapToInt(Integer::intValue).sum();
+        assertThat(totalReserved).isEqualTo(CAR_INVENTORY);
+        assertThat(carRepository.findById(CAR_ID).orElseThrow().getInventory()).isZero();
+    }
+
+    @Test
+    @DisplayName("reserve() and release() from many threads don't lose updates")
+    void reserveAndRelease_FromManyThreads_NoLostUpdates() throws Exception {
+        runConcurrently(() -> {
+            for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                inventoryReservationService.release(CAR_ID);
+                inventoryReservationService.reserve(CAR_ID);
+                inventoryReservationService.release(CAR_ID);
+            }
+            return ATTEMPTS_PER_THREAD;
+        });
+
+        assertThat(carRepository.findById(CAR_ID).orElseThrow().getInventory())
+                .isEqualTo(CAR_INVENTORY + THREADS * ATTEMPTS_PER_THREAD);
+    }
+
+    @Test
+    @DisplayName("reserve() refreshes a car already loaded in the same transaction")
+    void reserve_CarLoadedInTransaction_SeeReservedInventory() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Integer inventoryAfterReserve = transactionTemplate.execute(status -> {
+            Car car = entityManager.find(Car.class, CAR_ID);
+            inventoryReservationService.reserve(CAR_ID);
+            return car.getInventory();
+        });
+
+        assertThat(inventoryAfterReserve).isEqualTo(CAR_INVENTORY - 1);
+    }
+
+    private List<Integer> runConcurrently(Callable<Integer> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
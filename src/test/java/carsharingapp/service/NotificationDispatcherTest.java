@@ -0,0 +1,184 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.model.Notification;
+import carsharingapp.repository.NotificationRepository;
+import carsharingapp.service.impl.NotificationDispatcher;
+import carsharingapp.service.impl.TelegramNotificationService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+    private static final Long CHAT_ID = 12345L;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private TelegramNotificationService telegramNotificationService;
+    @Spy
+    private TransactionTemplate transactionTemplate =
+            new TransactionTemplate(mock(PlatformTransactionManager.class));
+    @InjectMocks
+    private NotificationDispatcher notificationDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        notificationDispatcher.setGlobalRatePerSecond(1000);
+        notificationDispatcher.setMaxAttempts(3);
+        notificationDispatcher.setInitialBackoffMillis(1000);
+    }
+
+    @Test
+    @DisplayName("dispatch() marks delivered notifications as sent in one batch")
+    void dispatch_WithDeliverableNotifications_MarksThemSent() throws Exception {
+        //Given
+        Notification first = createNotification(1L, CHAT_ID);
+        Notification second = createNotification(2L, 67890L)
+                .setNextAttemptAt(first.getNextAttemptAt());
+        List<Notification> batch = List.of(first, second);
+        //When
+        notificationDispatcher.dispatch(batch);
+        //Then
+        assertEquals(Notification.Status.SENT, first.getStatus());
+        assertEquals(Notification.Status.SENT, second.getStatus());
+        verify(telegramNotificationService, times(2)).deliver(anyLong(), anyString());
+        verify(notificationRepository).updateDelivery(List.of(1L, 2L),
+                Notification.Status.SENT, 0, first.getNextAttemptAt());
+    }
+
+    @Test
+    @DisplayName("dispatch() reschedules a failed notification with exponential backoff")
+    void dispatch_WhenTelegramFails_SchedulesRetryWithBackoff() throws Exception {
+        //Given
+        Notification notification = createNotification(1L, CHAT_ID).setAttempts(1);
+        doThrow(new TelegramApiException("Too Many Requests"))
+                .when(telegramNotificationService).deliver(anyLong(), anyString());
+        final LocalDateTime before = LocalDateTime.now();
+        //When
+        notificationDispatcher.dispatch(List.of(notification));
+        //Then
+        assertEquals(Notification.Status.PENDING, notification.getStatus());
+        assertEquals(2, notification.getAttempts());
+        assertTrue(notification.getNextAttemptAt().isAfter(before.plusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("dispatch() gives up on a notification after the last attempt")
+    void dispatch_WhenLastAttemptFails_MarksNotificationFailed() throws Exception {
+        //Given
+        Notification notification = createNotification(1L, CHAT_ID).setAttempts(2);
+        doThrow(new TelegramApiException("Bad Request"))
+                .when(telegramNotificationService).deliver(anyLong(), anyString());
+        //When
+        notificationDispatcher.dispatch(List.of(notification));
+        //Then
+        assertEquals(Notification.Status.FAILED, notification.getStatus());
+        assertEquals(3, notification.getAttempts());
+    }
+
+    @Test
+    @DisplayName("dispatch() leaves a second message to the same chat in the table until its slot")
+    void dispatch_WithTwoMessagesToOneChat_DefersTheSecond() throws Exception {
+        //Given
+        Notification first = createNotification(1L, CHAT_ID);
+        Notification second = createNotification(2L, CHAT_ID);
+        //When
+        notificationDispatcher.dispatch(List.of(first, second));
+        //Then
+        assertEquals(Notification.Status.SENT, first.getStatus());
+        assertEquals(Notification.Status.PENDING, second.getStatus());
+        assertEquals(0, second.getAttempts());
+        assertTrue(second.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        verify(telegramNotificationService, times(1)).deliver(anyLong(), anyString());
+        verify(notificationRepository).updateDelivery(List.of(2L), Notification.Status.PENDING,
+                0, second.getNextAttemptAt());
+    }
+
+    @Test
+    @DisplayName("dispatch() sends a held back message once it is due again after its chat slot")
+    void dispatch_AfterChatInterval_SendsThrottledMessage() throws Exception {
+        //Given
+        notificationDispatcher.setPerChatIntervalMillis(50);
+        Notification first = createNotification(1L, CHAT_ID);
+        Notification second = createNotification(2L, CHAT_ID);
+        notificationDispatcher.dispatch(List.of(first, second));
+        assertEquals(Notification.Status.PENDING, second.getStatus());
+        Thread.sleep(100);
+        //When
+        notificationDispatcher.dispatch(List.of(second));
+        //Then
+        assertEquals(Notification.Status.SENT, second.getStatus());
+        verify(telegramNotificationService, times(2)).deliver(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("dispatchDue() claims due rows with a lease before sending them")
+    void dispatchDue_WithDueNotification_ClaimsBeforeSending() throws Exception {
+        //Given
+        notificationDispatcher.setClaimLeaseMillis(60_000);
+        Notification notification = createNotification(1L, CHAT_ID);
+        when(notificationRepository.findDueForUpdate(eq(Notification.Status.PENDING),
+                any(LocalDateTime.class), eq(Limit.of(20))))
+                .thenReturn(List.of(notification));
+        List<LocalDateTime> leaseAtSend = new ArrayList<>();
+        doAnswer(invocation -> leaseAtSend.add(notification.getNextAttemptAt()))
+                .when(telegramNotificationService).deliver(anyLong(), anyString());
+        final LocalDateTime before = LocalDateTime.now();
+        //When
+        notificationDispatcher.dispatchDue();
+        //Then
+        verify(transactionTemplate).execute(any());
+        assertEquals(1, leaseAtSend.size());
+        assertTrue(leaseAtSend.get(0).isAfter(before.plusSeconds(59)));
+        assertEquals(Notification.Status.SENT, notification.getStatus());
+    }
+
+    @Test
+    @DisplayName("dispatch() does nothing for an empty batch")
+    void dispatch_WithEmptyBatch_DoesNothing() throws Exception {
+        //When
+        notificationDispatcher.dispatch(List.of());
+        //Then
+        verify(telegramNotificationService, never()).deliver(anyLong(), anyString());
+        verify(notificationRepository, never()).updateDelivery(any(), any(), anyInt(), any());
+    }
+
+    private static Notification createNotification(Long id, Long chatId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Notification()
+                .setId(id)
+                .setChatId(chatId)
+                .setMessage("New rental created")
+                .setStatus(Notification.Status.PENDING)
+                .setNextAttemptAt(now)
+                .setCreatedAt(now);
+    }
+}
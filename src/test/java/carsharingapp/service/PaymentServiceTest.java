@@ -6,14 +6,15 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import carsharingapp.dto.PaymentRequestDto;
 import carsharingapp.dto.PaymentResponseDto;
+import carsharingapp.exception.CreateSessionException;
 import carsharingapp.exception.CustomerAccessException;
 import carsharingapp.mapper.PaymentMapper;
 import carsharingapp.model.Car;
@@ -23,10 +24,13 @@ import carsharingapp.model.User;
 import carsharingapp.repository.PaymentRepository;
 import carsharingapp.repository.RentalRepository;
 import carsharingapp.service.impl.PaymentServiceImpl;
+import carsharingapp.service.impl.StripeSessionGateway;
 import carsharingapp.service.impl.TelegramNotificationService;
 import carsharingapp.util.TestUtils;
 import com.stripe.model.checkout.Session;
 import com.stripe.param.checkout.SessionCreateParams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
 import java.util.Optional;
@@ -36,11 +40,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,6 +64,13 @@ class PaymentServiceTest {
     private UserService userService;
     @Mock
     private TelegramNotificationService notificationService;
+    @Mock
+    private StripeSessionGateway stripeSessionGateway;
+    @Spy
+    private TransactionTemplate transactionTemplate =
+            new TransactionTemplate(mock(PlatformTransactionManager.class));
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
     @InjectMocks
     private PaymentServiceImpl paymentService;
     private Car car;
@@ -93,36 +106,67 @@ class PaymentServiceTest {
         when(userService.getCurrentUser()).thenReturn(user);
         when(paymentRepository.findByRentalId(rental.getId())).thenReturn(Optional.empty());
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+        when(paymentRepository.findById(payment.getId())).thenReturn(Optional.of(payment));
+        when(stripeSessionGateway.createSession(any(SessionCreateParams.class)))
+                .thenReturn(mockSession);
         doNothing().when(notificationService).sendNotification(any(), anyString());
         when(paymentMapper.toDto(any(Payment.class))).thenReturn(expected);
 
-        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
-            mockedSession.when(() -> Session.create(any(SessionCreateParams.class)))
-                    .thenReturn(mockSession);
-
-            // When
-
-            UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString("http://localhost");
-            PaymentResponseDto actual = paymentService.createPayment(requestDto, uriBuilder);
-
-            // Then
-            assertEquals(expected, actual);
-            verify(rentalRepository, times(1))
-                    .findById(rental.getId());
-            verify(userService, times(2))
-                    .getCurrentUser();
-            verify(paymentRepository, times(1))
-                    .findByRentalId(rental.getId());
-            verify(paymentRepository, times(1))
-                    .save(any(Payment.class));
-            verify(notificationService, times(1))
-                    .sendNotification(any(), anyString());
-            verify(paymentMapper, times(1)).toDto(any(Payment.class));
-
-            verifyNoMoreInteractions(rentalRepository, userDetailsService,
-                    paymentRepository, notificationService, paymentMapper
-            );
-        }
+        // When
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString("http://localhost");
+        PaymentResponseDto actual = paymentService.createPayment(requestDto, uriBuilder);
+
+        // Then
+        assertEquals(expected, actual);
+        assertEquals("mockSessionId", payment.getSessionId());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(rentalRepository, times(1))
+                .findById(rental.getId());
+        verify(userService, times(1))
+                .getCurrentUser();
+        verify(paymentRepository, times(1))
+                .findByRentalId(rental.getId());
+        verify(paymentRepository, times(1))
+                .findById(payment.getId());
+        verify(paymentRepository, times(2))
+                .save(any(Payment.class));
+        verify(stripeSessionGateway, times(1))
+                .createSession(any(SessionCreateParams.class));
+        verify(notificationService, times(1))
+                .sendNotification(any(), anyString());
+        verify(paymentMapper, times(1)).toDto(any(Payment.class));
+
+        verifyNoMoreInteractions(rentalRepository, userDetailsService, paymentRepository,
+                stripeSessionGateway, notificationService, paymentMapper
+        );
+    }
+
+    @Test
+    @DisplayName("Verify createPayment() method. "
+            + "Should keep the pending payment when the payment provider fails"
+    )
+    void createPayment_ProviderUnavailable_ThrowException() {
+        // Given
+        PaymentRequestDto requestDto = new PaymentRequestDto();
+        requestDto.setRentalId(rental.getId());
+
+        when(rentalRepository.findById(rental.getId())).thenReturn(Optional.of(rental));
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(paymentRepository.findByRentalId(rental.getId())).thenReturn(Optional.empty());
+        when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+        when(stripeSessionGateway.createSession(any(SessionCreateParams.class)))
+                .thenThrow(new CreateSessionException("Payment provider didn't respond in time"));
+
+        // When
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString("http://localhost");
+        CreateSessionException exception = assertThrows(CreateSessionException.class,
+                () -> paymentService.createPayment(requestDto, uriBuilder));
+
+        // Then
+        assertEquals("Payment provider didn't respond in time", exception.getMessage());
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(paymentRepository, times(1)).save(any(Payment.class));
+        verifyNoInteractions(notificationService, paymentMapper);
     }
 
     @Test
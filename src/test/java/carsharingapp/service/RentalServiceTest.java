@@ -15,13 +15,17 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import carsharingapp.dto.OverdueRentalDto;
 import carsharingapp.dto.RentalRequestDto;
 import carsharingapp.dto.RentalResponseDto;
+import carsharingapp.dto.RentalSearchParametersDto;
 import carsharingapp.exception.CarAvailableException;
 import carsharingapp.exception.RentalException;
 import carsharingapp.mapper.RentalMapper;
@@ -29,30 +33,51 @@ import carsharingapp.model.Car;
 import carsharingapp.model.Payment;
 import carsharingapp.model.Rental;
 import carsharingapp.model.User;
+import carsharingapp.repository.CarHoldRepository;
 import carsharingapp.repository.CarRepository;
 import carsharingapp.repository.RentalRepository;
 import carsharingapp.repository.UserRepository;
+import carsharingapp.service.impl.CarAvailabilityIndex;
+import carsharingapp.service.impl.CarLocationIndex;
+import carsharingapp.service.impl.InventoryReservationService;
+import carsharingapp.service.impl.OpenRentalRegistry;
 import carsharingapp.service.impl.RentalServiceImpl;
 import carsharingapp.service.impl.TelegramNotificationService;
+import carsharingapp.service.impl.TripLogStore;
 import carsharingapp.util.TestUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.annotation.DirtiesContext;
 
 @ExtendWith(MockitoExtension.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 public class RentalServiceTest {
+    private static final Long VALID_HOLD_ID = 7L;
+
     @Mock
     private RentalRepository rentalRepository;
     @Mock
@@ -60,9 +85,25 @@ public class RentalServiceTest {
     @Mock
     private CarRepository carRepository;
     @Mock
+    private CarHoldRepository carHoldRepository;
+    @Mock
     private RentalMapper rentalMapper;
     @Mock
     private TelegramNotificationService notificationService;
+    @Mock
+    private InventoryReservationService inventoryReservationService;
+    @Mock
+    private CarAvailabilityIndex carAvailabilityIndex;
+    @Mock
+    private CarLocationIndex carLocationIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private OpenRentalRegistry openRentalRegistry;
+    @Mock
+    private TripLogStore tripLogStore;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
     private final ObjectMapper notMockedMapper = new ObjectMapper();
 
     @Spy
@@ -99,8 +140,7 @@ public class RentalServiceTest {
                  .thenReturn(user);
         lenient().doNothing()
                 .when(notificationService).sendNotification(anyLong(), anyString());
-        lenient().doNothing().when(rentalService).checkUserHasOpenRentals(any(User.class));
-        when(rentalRepository.save(any(Rental.class)))
+        when(rentalRepository.saveAndFlush(any(Rental.class)))
                 .thenReturn(rental);
         when(rentalMapper.toDto(any(Rental.class)))
                 .thenReturn(expected);
@@ -108,6 +148,66 @@ public class RentalServiceTest {
         RentalResponseDto actualResponse = rentalService.save(requestDto);
         //Then
         assertEquals(expected, actualResponse);
+        verify(inventoryReservationService).reserve(car.getId());
+        verify(carRepository, never()).save(any(Car.class));
+    }
+
+    @Test
+    @DisplayName("save() method turns an active hold into a rental without reserving again")
+    public void save_WithActiveHold_ConsumesHold() {
+        //Given
+        RentalRequestDto requestDto = createValidRentalRequestDto().setHoldId(VALID_HOLD_ID);
+        when(carRepository.findById(requestDto.getCarId()))
+                .thenReturn(Optional.of(car));
+        when(userRepository.getReferenceById(requestDto.getUserId()))
+                .thenReturn(user);
+        when(carHoldRepository.deleteActiveHold(eq(VALID_HOLD_ID), eq(requestDto.getCarId()),
+                eq(requestDto.getUserId()), any(LocalDateTime.class))).thenReturn(1);
+        when(rentalMapper.toDto(any(Rental.class)))
+                .thenReturn(expected);
+        //When
+        RentalResponseDto actualResponse = rentalService.save(requestDto);
+        //Then
+        assertEquals(expected, actualResponse);
+        verify(inventoryReservationService, never()).reserve(anyLong());
+        verify(rentalRepository).saveAndFlush(any(Rental.class));
+    }
+
+    @Test
+    @DisplayName("save() method throws RentalException when the hold has expired")
+    public void save_WithExpiredHold_ThrowsRentalException() {
+        //Given
+        RentalRequestDto requestDto = createValidRentalRequestDto().setHoldId(VALID_HOLD_ID);
+        when(carRepository.findById(requestDto.getCarId()))
+                .thenReturn(Optional.of(car));
+        when(userRepository.getReferenceById(requestDto.getUserId()))
+                .thenReturn(user);
+        when(carHoldRepository.deleteActiveHold(eq(VALID_HOLD_ID), eq(requestDto.getCarId()),
+                eq(requestDto.getUserId()), any(LocalDateTime.class))).thenReturn(0);
+        //Then
+        Assertions.assertThrows(RentalException.class, () -> rentalService.save(requestDto));
+        verify(rentalRepository, never()).saveAndFlush(any(Rental.class));
+    }
+
+    @Test
+    @DisplayName("save() method throws RentalException when the user already has an open rental")
+    public void save_WithOpenRental_ThrowsRentalException() {
+        //Given
+        RentalRequestDto requestDto = createValidRentalRequestDto();
+        when(carRepository.findById(requestDto.getCarId()))
+                .thenReturn(Optional.of(car));
+        when(userRepository.getReferenceById(requestDto.getUserId()))
+                .thenReturn(user);
+        when(rentalRepository.saveAndFlush(any(Rental.class))).thenThrow(
+                new DataIntegrityViolationException("Duplicate entry",
+                        new ConstraintViolationException("Duplicate entry", new SQLException(),
+                                "rentals.uq_rentals_user_open")));
+        //When
+        RentalException exception = Assertions.assertThrows(RentalException.class,
+                () -> rentalService.save(requestDto));
+        //Then
+        assertEquals("Sorry, but you already have open rental.", exception.getMessage());
+        verify(openRentalRegistry, never()).register(anyLong(), anyLong());
     }
 
     @Test
@@ -130,6 +230,8 @@ public class RentalServiceTest {
         notAvailableCar.setInventory(0);
         when(carRepository.findById(anyLong()))
                 .thenReturn(Optional.of(notAvailableCar));
+        doThrow(new CarAvailableException("Car is not available"))
+                .when(inventoryReservationService).reserve(notAvailableCar.getId());
         RentalRequestDto requestDto = createValidRentalRequestDto();
         when(userRepository.getReferenceById(requestDto.getUserId()))
                 .thenReturn(user);
@@ -156,19 +258,64 @@ public class RentalServiceTest {
     }
 
     @Test
-    @DisplayName("checkOverdueRentals() method sends notifications about every overdue rental")
+    @DisplayName("search() method maps the requested page of rentals")
+    public void search_WithSearchParameters_ReturnRentalPage() {
+        //Given
+        RentalSearchParametersDto searchParameters =
+                new RentalSearchParametersDto(user.getId(), false, car.getId(), null, null);
+        Pageable pageable = TestUtils.createPageable();
+        when(rentalRepository.findSliceWithCar(ArgumentMatchers.<Specification<Rental>>any(),
+                eq(pageable))).thenReturn(new SliceImpl<>(List.of(rental)));
+        when(rentalMapper.toDto(rental)).thenReturn(expected);
+        //When
+        List<RentalResponseDto> actual = rentalService.search(searchParameters, pageable);
+        //Then
+        assertEquals(List.of(expected), actual);
+        verify(rentalRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("checkOverdueRentals() method sends one summary of the overdue rentals")
     public void checkOverdueRentals_WithOverdueRentals() {
         //Given
-        List<Rental> overdueRentals = List.of(createOverdueRental(), createOverdueRental());
+        Rental overdueRental = createOverdueRental();
+        List<OverdueRentalDto> overdueRentals = List.of(
+                new OverdueRentalDto(overdueRental.getId(), overdueRental.getReturnDate()),
+                new OverdueRentalDto(2L, overdueRental.getReturnDate()));
         Long chatId = 12345L;
         rentalService.setChatId(String.valueOf(chatId));
-        when(rentalRepository.findAll()).thenReturn(overdueRentals);
+        when(rentalRepository.findFirstOverdueRentals(any(LocalDate.class), any(Limit.class)))
+                .thenReturn(overdueRentals);
         lenient().doNothing().when(notificationService).sendNotification(anyLong(), anyString());
         // When
         rentalService.checkOverdueRentals();
         //Then
-        verify(notificationService, times(overdueRentals.size()))
-                .sendNotification(anyLong(), anyString());
+        verify(notificationService).sendNotification(chatId,
+                "Overdue rentals with ids: " + overdueRental.getId() + ", 2");
+        assertEquals(1, meterRegistry.timer("rentals.overdue.scan").count());
+    }
+
+    @Test
+    @DisplayName("checkOverdueRentals() method reads overdue rentals in keyset chunks")
+    public void checkOverdueRentals_WithSeveralChunks_ContinuesAfterLastReturnDateAndId() {
+        //Given
+        LocalDate firstReturnDate = LocalDate.now().minusDays(10);
+        LocalDate lastReturnDate = LocalDate.now().minusDays(3);
+        rentalService.setChatId("12345");
+        rentalService.setOverdueScanChunkSize(2);
+        when(rentalRepository.findFirstOverdueRentals(any(LocalDate.class), any(Limit.class)))
+                .thenReturn(List.of(new OverdueRentalDto(7L, firstReturnDate),
+                        new OverdueRentalDto(2L, lastReturnDate)));
+        when(rentalRepository.findOverdueRentalsAfter(any(LocalDate.class), eq(lastReturnDate),
+                eq(2L), any(Limit.class))).thenReturn(List.of(new OverdueRentalDto(5L,
+                lastReturnDate)));
+        // When
+        rentalService.checkOverdueRentals();
+        //Then
+        verify(notificationService).sendNotification(12345L, "Overdue rentals with ids: 7, 2");
+        verify(notificationService).sendNotification(12345L, "Overdue rentals with ids: 5");
+        verify(rentalRepository, never()).findAll();
+        assertEquals(3, meterRegistry.counter("rentals.overdue.scan.processed").count());
     }
 
     @Test
@@ -178,7 +325,8 @@ public class RentalServiceTest {
         //Given
         Long chatId = 12345L;
         rentalService.setChatId(String.valueOf(chatId));
-        when(rentalRepository.findAll()).thenReturn(Collections.emptyList());
+        when(rentalRepository.findFirstOverdueRentals(any(LocalDate.class), any(Limit.class)))
+                .thenReturn(Collections.emptyList());
         doNothing().when(notificationService).sendNotification(anyLong(), anyString());
 
         // When
@@ -0,0 +1,133 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import carsharingapp.exception.CreateSessionException;
+import carsharingapp.service.impl.StripeSessionGateway;
+import com.stripe.Stripe;
+import com.stripe.model.checkout.Session;
+import com.stripe.param.checkout.SessionCreateParams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class StripeSessionGatewayTest {
+    private static final long TIMEOUT_MILLIS = 1_000;
+    private static final String SESSION_JSON = "{\"id\":\"cs_test_1\",\"object\":"
+            + "\"checkout.session\",\"url\":\"https://checkout.stripe.com/c/pay/cs_test_1\"}";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile long latencyMillis;
+    private HttpServer server;
+    private StripeSessionGateway gateway;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/checkout/sessions", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        Stripe.overrideApiBase("http://localhost:" + server.getAddress().getPort());
+        gateway = new StripeSessionGateway("sk_test_123", 2, 2, TIMEOUT_MILLIS, 2, 60_000,
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        gateway.shutdown();
+        server.stop(0);
+        Stripe.overrideApiBase(Stripe.LIVE_API_BASE);
+    }
+
+    @Test
+    @DisplayName("Verify createSession() method. Should return session from the provider")
+    void createSession_FastProvider_ReturnSession() {
+        //When
+        Session session = gateway.createSession(createParams());
+
+        //Then
+        assertEquals("cs_test_1", session.getId());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    @DisplayName("Verify createSession() method. Should give up after the configured timeout")
+    void createSession_SlowProvider_ThrowExceptionAfterTimeout() {
+        //Given
+        latencyMillis = 5_000;
+        long start = System.nanoTime();
+
+        //When
+        CreateSessionException exception = assertThrows(CreateSessionException.class,
+                () -> gateway.createSession(createParams()));
+
+        //Then
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMillis < 3_000, "Call took " + elapsedMillis + " ms");
+        assertTrue(exception.getMessage().startsWith("Payment provider"));
+    }
+
+    @Test
+    @DisplayName("Verify createSession() method. "
+            + "Should fail fast without calling the provider once the circuit is open")
+    void createSession_RepeatedFailures_OpenCircuit() {
+        //Given
+        latencyMillis = 5_000;
+        assertThrows(CreateSessionException.class, () -> gateway.createSession(createParams()));
+        assertThrows(CreateSessionException.class, () -> gateway.createSession(createParams()));
+        final int requestsBeforeOpen = requests.get();
+        latencyMillis = 0;
+        long start = System.nanoTime();
+
+        //When
+        CreateSessionException exception = assertThrows(CreateSessionException.class,
+                () -> gateway.createSession(createParams()));
+
+        //Then
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals("Payment provider is temporarily unavailable, please try again later",
+                exception.getMessage());
+        assertEquals(requestsBeforeOpen, requests.get());
+        assertTrue(elapsedMillis < TIMEOUT_MILLIS, "Call took " + elapsedMillis + " ms");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = SESSION_JSON.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("Request-Id", "req_test");
+        try {
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+
+    private static SessionCreateParams createParams() {
+        return SessionCreateParams.builder()
+                .setMode(SessionCreateParams.Mode.PAYMENT)
+                .setSuccessUrl("http://localhost/payments/success/1")
+                .setCancelUrl("http://localhost/payments/cancel/1")
+                .build();
+    }
+}
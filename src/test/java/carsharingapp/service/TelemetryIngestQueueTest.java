@@ -0,0 +1,162 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.service.impl.TelemetryIngestQueue;
+import carsharingapp.service.impl.TripLogStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+@ExtendWith(MockitoExtension.class)
+class TelemetryIngestQueueTest {
+    private static final LocalDateTime RECORDED_AT = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TripLogStore tripLogStore;
+    private SimpleMeterRegistry meterRegistry;
+    private TelemetryIngestQueue telemetryIngestQueue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        telemetryIngestQueue = new TelemetryIngestQueue(jdbcTemplate, tripLogStore,
+                meterRegistry);
+        telemetryIngestQueue.setQueueCapacity(3);
+        telemetryIngestQueue.setBatchSize(2);
+    }
+
+    @Test
+    @DisplayName("offerAll() rejects the whole batch when it does not fit into the buffer")
+    void offerAll_WhenBufferIsFull_RejectsBatch() {
+        //When
+        boolean first = telemetryIngestQueue.offerAll(List.of(reading(1L), reading(2L)));
+        boolean second = telemetryIngestQueue.offerAll(List.of(reading(3L), reading(4L)));
+
+        //Then
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(2, telemetryIngestQueue.size());
+        assertEquals(2, meterRegistry.counter("telemetry.readings.rejected").count());
+    }
+
+    @Test
+    @DisplayName("flush() writes up to one batch with a single JDBC batch insert")
+    @SuppressWarnings("unchecked")
+    void flush_WithBufferedReadings_WritesOneBatch() {
+        //Given
+        telemetryIngestQueue.offerAll(List.of(reading(1L), reading(2L), reading(3L)));
+        ArgumentCaptor<List<TelemetryIngestQueue.Reading>> batch =
+                ArgumentCaptor.forClass(List.class);
+
+        //When
+        int written = telemetryIngestQueue.flush();
+
+        //Then
+        assertEquals(2, written);
+        assertEquals(1, telemetryIngestQueue.size());
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of(1L, 2L), batch.getValue().stream()
+                .map(TelemetryIngestQueue.Reading::carId)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("flush() keeps a failed batch in the buffer and writes it on the next flush")
+    @SuppressWarnings("unchecked")
+    void flush_WhenInsertFailsOnce_RetriesBatchBeforeTripLog() {
+        //Given
+        telemetryIngestQueue.offerAll(List.of(rentedReading(1L, 10L), reading(2L),
+                reading(3L)));
+        when(jdbcTemplate.batchUpdate(anyString(), any(List.class), eq(2),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[][] {{1, 1}});
+
+        //When
+        int failed = telemetryIngestQueue.flush();
+        boolean acceptedWhileRetrying = telemetryIngestQueue.offerAll(List.of(reading(4L)));
+        verifyNoInteractions(tripLogStore);
+        int retried = telemetryIngestQueue.flush();
+
+        //Then
+        assertEquals(0, failed);
+        assertFalse(acceptedWhileRetrying);
+        assertEquals(2, retried);
+        assertEquals(1, telemetryIngestQueue.size());
+        assertEquals(0, meterRegistry.counter("telemetry.readings.dropped").count());
+        verify(tripLogStore).append(eq(10L), argThat(samples -> samples.size() == 1));
+    }
+
+    @Test
+    @DisplayName("flush() drops a batch and frees its space once every write attempt failed")
+    @SuppressWarnings("unchecked")
+    void flush_WhenInsertKeepsFailing_DropsBatchAfterLastAttempt() {
+        //Given
+        telemetryIngestQueue.setMaxWriteAttempts(2);
+        telemetryIngestQueue.offerAll(List.of(rentedReading(1L, 10L), reading(2L),
+                reading(3L)));
+        when(jdbcTemplate.batchUpdate(anyString(), any(List.class), eq(2),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        //When
+        telemetryIngestQueue.flush();
+        telemetryIngestQueue.flush();
+
+        //Then
+        assertEquals(1, telemetryIngestQueue.size());
+        assertEquals(2, meterRegistry.counter("telemetry.readings.dropped").count());
+        assertTrue(telemetryIngestQueue.offerAll(List.of(reading(4L), reading(5L))));
+        verifyNoInteractions(tripLogStore);
+    }
+
+    @Test
+    @DisplayName("flush() appends the positions of rented cars to the trip log per rental")
+    void flush_WithRentedCars_AppendsTripSamplesPerRental() {
+        //Given
+        telemetryIngestQueue.setBatchSize(3);
+        telemetryIngestQueue.offerAll(List.of(rentedReading(1L, 10L), reading(2L),
+                rentedReading(1L, 10L)));
+
+        //When
+        telemetryIngestQueue.flush();
+
+        //Then
+        verify(tripLogStore).append(eq(10L), argThat(samples -> samples.size() == 2));
+        verifyNoMoreInteractions(tripLogStore);
+    }
+
+    private static TelemetryIngestQueue.Reading rentedReading(Long carId, Long rentalId) {
+        return new TelemetryIngestQueue.Reading(carId, rentalId, RECORDED_AT, 50.45, 30.52,
+                12_345.6, 80);
+    }
+
+    private static TelemetryIngestQueue.Reading reading(Long carId) {
+        return new TelemetryIngestQueue.Reading(carId, null, RECORDED_AT, 50.45, 30.52,
+                1200.5, 80);
+    }
+}
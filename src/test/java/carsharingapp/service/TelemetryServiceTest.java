@@ -0,0 +1,105 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.dto.RentalBookingDto;
+import carsharingapp.dto.TelemetryBatchRequestDto;
+import carsharingapp.dto.TelemetryReadingDto;
+import carsharingapp.repository.RentalRepository;
+import carsharingapp.service.impl.OpenRentalRegistry;
+import carsharingapp.service.impl.TelemetryIngestQueue;
+import carsharingapp.service.impl.TelemetryServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TelemetryServiceTest {
+    private static final Long SHARED_CAR_ID = 1L;
+    private static final Long SINGLE_RENTAL_CAR_ID = 2L;
+    private static final LocalDate RENTAL_DATE = LocalDate.of(2025, 1, 1);
+
+    @Mock
+    private TelemetryIngestQueue telemetryIngestQueue;
+    @Mock
+    private RentalRepository rentalRepository;
+    @Captor
+    private ArgumentCaptor<List<TelemetryIngestQueue.Reading>> readings;
+    private SimpleMeterRegistry meterRegistry;
+    private TelemetryServiceImpl telemetryService;
+
+    @BeforeEach
+    void setUp() {
+        when(rentalRepository.findOpenBookings()).thenReturn(List.of(
+                booking(10L, SHARED_CAR_ID),
+                booking(11L, SHARED_CAR_ID),
+                booking(20L, SINGLE_RENTAL_CAR_ID)));
+        OpenRentalRegistry openRentalRegistry = new OpenRentalRegistry(rentalRepository);
+        openRentalRegistry.rebuild();
+        meterRegistry = new SimpleMeterRegistry();
+        telemetryService = new TelemetryServiceImpl(telemetryIngestQueue, openRentalRegistry,
+                meterRegistry);
+        when(telemetryIngestQueue.offerAll(readings.capture())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("ingest() attributes readings to the reported rental or the car's only rental")
+    void ingest_WithReportedAndSingleRentals_AttributeReadings() {
+        //When
+        telemetryService.ingest(request(
+                reading(SHARED_CAR_ID, 11L),
+                reading(SINGLE_RENTAL_CAR_ID, null)));
+
+        //Then
+        assertEquals(Arrays.asList(11L, 20L), rentalIds());
+        assertEquals(0, meterRegistry.counter("telemetry.readings.unattributed").count());
+    }
+
+    @Test
+    @DisplayName("ingest() counts readings that can't be matched to one open rental")
+    void ingest_WithAmbiguousOrForeignRental_CountUnattributedReadings() {
+        //When
+        telemetryService.ingest(request(
+                reading(SHARED_CAR_ID, null),
+                reading(SINGLE_RENTAL_CAR_ID, 10L),
+                reading(3L, null)));
+
+        //Then
+        assertEquals(Arrays.asList(null, null, null), rentalIds());
+        assertEquals(2, meterRegistry.counter("telemetry.readings.unattributed").count());
+    }
+
+    private List<Long> rentalIds() {
+        return readings.getValue().stream()
+                .map(TelemetryIngestQueue.Reading::rentalId)
+                .toList();
+    }
+
+    private static TelemetryBatchRequestDto request(TelemetryReadingDto... readingDtos) {
+        return new TelemetryBatchRequestDto(List.of(readingDtos));
+    }
+
+    private static TelemetryReadingDto reading(Long carId, Long rentalId) {
+        return new TelemetryReadingDto()
+                .setCarId(carId)
+                .setRentalId(rentalId)
+                .setRecordedAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .setLatitude(50.45)
+                .setLongitude(30.52);
+    }
+
+    private static RentalBookingDto booking(Long rentalId, Long carId) {
+        return new RentalBookingDto(rentalId, carId, RENTAL_DATE, RENTAL_DATE.plusDays(3));
+    }
+}
@@ -0,0 +1,144 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import carsharingapp.service.impl.TripLogStore;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TripLogStoreTest {
+    private static final int SEGMENT_SIZE_BYTES = 4096;
+    private static final long START_MILLIS = 1_735_732_800_000L;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("replay() returns the samples of a rental in append order")
+    void replay_WithInterleavedRentals_ReturnsSamplesOfOneRental() throws IOException {
+        //Given
+        TripLogStore store = openStore();
+        List<TripLogStore.Sample> first = samples(0, 3);
+        List<TripLogStore.Sample> second = samples(3, 2);
+        store.append(1L, first);
+        store.append(2L, samples(100, 4));
+        store.append(1L, second);
+
+        //When
+        List<TripLogStore.Sample> actual = store.readTrip(1L);
+
+        //Then
+        List<TripLogStore.Sample> expected = new ArrayList<>(first);
+        expected.addAll(second);
+        assertEquals(expected, actual);
+        assertTrue(store.readTrip(3L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("open() keeps complete records and drops a torn append after a crash")
+    void open_AfterTornAppend_RecoversCompleteRecords() throws IOException {
+        //Given
+        TripLogStore store = openStore();
+        store.append(1L, samples(0, 5));
+        store.append(1L, samples(5, 5));
+        store.close();
+        Path segment = logSegments().get(0);
+        int tornRecordOffset = lastRecordOffset(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {42, 42, 42}), tornRecordOffset + 12);
+        }
+
+        //When
+        TripLogStore recovered = openStore();
+        recovered.append(1L, samples(10, 2));
+
+        //Then
+        List<TripLogStore.Sample> expected = new ArrayList<>(samples(0, 5));
+        expected.addAll(samples(10, 2));
+        assertEquals(expected, recovered.readTrip(1L));
+        assertEquals(expected, openStore().readTrip(1L));
+    }
+
+    @Test
+    @DisplayName("compact() compresses sealed segments and keeps trips readable")
+    void compact_WithSealedSegments_KeepsTripsReadable() throws IOException {
+        //Given
+        TripLogStore store = openStore();
+        List<TripLogStore.Sample> expected = new ArrayList<>();
+        List<TripLogStore.Sample> expectedSecond = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            List<TripLogStore.Sample> batch = samples(i * 20, 20);
+            List<TripLogStore.Sample> secondBatch = samples(10_000 + i * 20, 20);
+            store.append(1L, batch);
+            store.append(2L, secondBatch);
+            expected.addAll(batch);
+            expectedSecond.addAll(secondBatch);
+        }
+        int segmentsBefore = logSegments().size();
+
+        //When
+        store.compact();
+
+        //Then
+        assertTrue(segmentsBefore > 1);
+        assertEquals(1, logSegments().size());
+        assertFalse(archives().isEmpty());
+        assertEquals(expected, store.readTrip(1L));
+        assertEquals(expectedSecond, store.readTrip(2L));
+        TripLogStore reopened = openStore();
+        assertEquals(expected, reopened.readTrip(1L));
+        assertEquals(expectedSecond, reopened.readTrip(2L));
+    }
+
+    private TripLogStore openStore() throws IOException {
+        TripLogStore store = new TripLogStore(directory.toString(), SEGMENT_SIZE_BYTES);
+        store.open();
+        return store;
+    }
+
+    private List<Path> logSegments() throws IOException {
+        return files(".log");
+    }
+
+    private List<Path> archives() throws IOException {
+        return files(".lz4");
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+
+    private static int lastRecordOffset(Path segment) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int offset = 0;
+        int last = 0;
+        while (buffer.getInt(offset) != 0) {
+            last = offset;
+            offset += 8 + buffer.getInt(offset);
+        }
+        return last;
+    }
+
+    private static List<TripLogStore.Sample> samples(int first, int count) {
+        List<TripLogStore.Sample> samples = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            samples.add(new TripLogStore.Sample(START_MILLIS + i * 5_000L,
+                    50_450_000 + i * 37, 30_520_000 - i * 21));
+        }
+        return samples;
+    }
+}
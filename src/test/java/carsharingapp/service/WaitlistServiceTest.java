@@ -0,0 +1,198 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.dto.HoldResponseDto;
+import carsharingapp.dto.WaitlistResponseDto;
+import carsharingapp.exception.CarAvailableException;
+import carsharingapp.exception.RentalException;
+import carsharingapp.model.Car;
+import carsharingapp.model.User;
+import carsharingapp.repository.CarHoldRepository;
+import carsharingapp.repository.CarRepository;
+import carsharingapp.repository.UserRepository;
+import carsharingapp.service.impl.TelegramNotificationService;
+import carsharingapp.service.impl.WaitlistServiceImpl;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+    private static final Long CAR_ID = 3L;
+
+    @Mock
+    private UserService userService;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private CarRepository carRepository;
+    @Mock
+    private CarHoldRepository carHoldRepository;
+    @Mock
+    private HoldService holdService;
+    @Mock
+    private TelegramNotificationService notificationService;
+    @Spy
+    private TransactionTemplate transactionTemplate =
+            new TransactionTemplate(mock(PlatformTransactionManager.class));
+    @InjectMocks
+    private WaitlistServiceImpl waitlistService;
+
+    @Test
+    @DisplayName("dispatch() promotes as many waiters as there are free units in FIFO order")
+    void dispatch_WithTwoFreeUnits_PromotesFirstTwoWaiters() {
+        //Given
+        joinAs(1L, 2L, 3L);
+        when(carRepository.findById(CAR_ID)).thenReturn(Optional.of(carWithInventory(2)));
+        when(holdService.createHoldForUser(anyLong(), eq(CAR_ID)))
+                .thenReturn(new HoldResponseDto(10L, CAR_ID, LocalDateTime.now()));
+
+        //When
+        int promoted = waitlistService.dispatch(CAR_ID);
+
+        //Then
+        assertEquals(2, promoted);
+        InOrder order = inOrder(holdService);
+        order.verify(holdService).createHoldForUser(1L, CAR_ID);
+        order.verify(holdService).createHoldForUser(2L, CAR_ID);
+        verify(holdService, never()).createHoldForUser(3L, CAR_ID);
+    }
+
+    @Test
+    @DisplayName("dispatch() skips users who left and keeps the head when the unit is gone")
+    void dispatch_WithLeftUserAndTakenUnit_KeepsNextWaiterAtHead() {
+        //Given
+        joinAs(1L, 2L);
+        when(userService.getCurrentUser()).thenReturn(user(1L));
+        waitlistService.leave(CAR_ID);
+        when(carRepository.findById(CAR_ID)).thenReturn(Optional.of(carWithInventory(1)));
+        when(holdService.createHoldForUser(2L, CAR_ID))
+                .thenThrow(new CarAvailableException("No free units"));
+
+        //When
+        int promoted = waitlistService.dispatch(CAR_ID);
+
+        //Then
+        assertEquals(0, promoted);
+        verify(holdService, never()).createHoldForUser(1L, CAR_ID);
+        when(userService.getCurrentUser()).thenReturn(user(4L));
+        WaitlistResponseDto response = waitlistService.join(CAR_ID);
+        assertEquals(2, response.waiting());
+    }
+
+    @Test
+    @DisplayName("join() rejects a user who is already waiting")
+    void join_WhenAlreadyWaiting_ThrowsException() {
+        //Given
+        joinAs(1L);
+
+        //When
+        RentalException exception = assertThrows(RentalException.class,
+                () -> waitlistService.join(CAR_ID));
+
+        //Then
+        assertEquals("You are already on the waitlist for car with id " + CAR_ID,
+                exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("dispatch() tells a waiter who already holds a car why they were dropped")
+    void dispatch_WaiterAlreadyHoldsCar_NotifiesWaiterAndPromotesNext() {
+        //Given
+        joinAs(1L, 2L);
+        when(carRepository.findById(CAR_ID)).thenReturn(Optional.of(carWithInventory(1)));
+        when(holdService.createHoldForUser(1L, CAR_ID))
+                .thenThrow(new RentalException("Sorry, but you already hold a car."));
+        when(holdService.createHoldForUser(2L, CAR_ID))
+                .thenReturn(new HoldResponseDto(10L, CAR_ID, LocalDateTime.now()));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)
+                .setTelegramChatId(101L)));
+
+        //When
+        int promoted = waitlistService.dispatch(CAR_ID);
+
+        //Then
+        assertEquals(1, promoted);
+        verify(notificationService).sendNotification(101L, "Car with id " + CAR_ID
+                + " is available again, but you were removed from its waitlist: "
+                + "Sorry, but you already hold a car.");
+    }
+
+    @Test
+    @DisplayName("dispatch() drops and tells a waiter whose hold fails unexpectedly, then goes on")
+    void dispatch_HoldFailsUnexpectedly_NotifiesWaiterAndPromotesNext() {
+        //Given
+        joinAs(1L, 2L);
+        when(carRepository.findById(CAR_ID)).thenReturn(Optional.of(carWithInventory(1)));
+        when(holdService.createHoldForUser(1L, CAR_ID))
+                .thenThrow(new IllegalStateException("Lock wait timeout exceeded"));
+        when(holdService.createHoldForUser(2L, CAR_ID))
+                .thenReturn(new HoldResponseDto(10L, CAR_ID, LocalDateTime.now()));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)
+                .setTelegramChatId(101L)));
+
+        //When
+        int promoted = waitlistService.dispatch(CAR_ID);
+
+        //Then
+        assertEquals(1, promoted);
+        verify(notificationService).sendNotification(101L, "Car with id " + CAR_ID
+                + " is available again, but you were removed from its waitlist: "
+                + "we couldn't hold it for you, please join again");
+    }
+
+    @Test
+    @DisplayName("join() rejects a user who already holds a car")
+    void join_WhenHoldingCar_ThrowsException() {
+        //Given
+        when(carRepository.existsById(CAR_ID)).thenReturn(true);
+        when(userService.getCurrentUser()).thenReturn(user(1L));
+        when(carHoldRepository.existsByUserId(1L)).thenReturn(true);
+
+        //When
+        RentalException exception = assertThrows(RentalException.class,
+                () -> waitlistService.join(CAR_ID));
+
+        //Then
+        assertEquals("Sorry, but you already hold a car.", exception.getMessage());
+    }
+
+    private void joinAs(Long... userIds) {
+        when(carRepository.existsById(CAR_ID)).thenReturn(true);
+        for (Long userId : userIds) {
+            when(userService.getCurrentUser()).thenReturn(user(userId));
+            waitlistService.join(CAR_ID);
+        }
+    }
+
+    private User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private Car carWithInventory(int inventory) {
+        Car car = new Car();
+        car.setId(CAR_ID);
+        car.setInventory(inventory);
+        return car;
+    }
+}
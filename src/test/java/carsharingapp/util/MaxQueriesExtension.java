@@ -0,0 +1,36 @@
+package carsharingapp.util;
+
+import carsharingapp.monitoring.QueryCountInspector;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+public class MaxQueriesExtension implements BeforeTestExecutionCallback,
+        AfterTestExecutionCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(MaxQueriesExtension.class);
+    private static final String SCOPE_KEY = "queryScope";
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(SCOPE_KEY, QueryCountInspector.open());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryCountInspector.QueryScope scope = context.getStore(NAMESPACE)
+                .remove(SCOPE_KEY, QueryCountInspector.QueryScope.class);
+        scope.close();
+        int maxQueries = context.getRequiredTestMethod()
+                .getAnnotation(MaxQueries.class).value();
+        if (scope.count() > maxQueries) {
+            String repeated = scope.mostRepeated()
+                    .map(entry -> entry.getValue() + " x " + entry.getKey())
+                    .orElse("");
+            throw new AssertionFailedError("Expected at most " + maxQueries
+                    + " SQL statements but " + scope.count()
+                    + " were executed, most repeated: " + repeated);
+        }
+    }
+}
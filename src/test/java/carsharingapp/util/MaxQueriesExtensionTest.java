@@ -0,0 +1,77 @@
+package carsharingapp.util;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.monitoring.QueryCountInspector;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+class MaxQueriesExtensionTest {
+    private static final String SELECT_CAR = "select c1_0.id from cars c1_0 where c1_0.id=?";
+
+    private final MaxQueriesExtension extension = new MaxQueriesExtension();
+    private final QueryCountInspector inspector = new QueryCountInspector();
+    private final AtomicReference<Object> storedScope = new AtomicReference<>();
+    private ExtensionContext context;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        ExtensionContext.Store store = mock(ExtensionContext.Store.class);
+        doAnswer(invocation -> {
+            storedScope.set(invocation.getArgument(1));
+            return null;
+        }).when(store).put(anyString(), any());
+        when(store.remove(anyString(), eq(QueryCountInspector.QueryScope.class)))
+                .thenAnswer(invocation -> storedScope.getAndSet(null));
+        Method budgetedMethod = getClass().getDeclaredMethod("twoQueryBudget");
+        context = mock(ExtensionContext.class);
+        when(context.getStore(any())).thenReturn(store);
+        when(context.getRequiredTestMethod()).thenReturn(budgetedMethod);
+    }
+
+    @Test
+    @DisplayName("afterTestExecution() passes when the statement count stays within the budget")
+    void afterTestExecution_WithinBudget_Pass() {
+        //Given
+        extension.beforeTestExecution(context);
+        inspector.inspect(SELECT_CAR);
+        inspector.inspect(SELECT_CAR);
+        //When //Then
+        assertDoesNotThrow(() -> extension.afterTestExecution(context));
+    }
+
+    @Test
+    @DisplayName("afterTestExecution() fails and names the most repeated statement "
+            + "when the budget is exceeded")
+    void afterTestExecution_OverBudget_FailWithMostRepeatedStatement() {
+        //Given
+        extension.beforeTestExecution(context);
+        inspector.inspect("select u1_0.id from users u1_0 where u1_0.email=?");
+        inspector.inspect(SELECT_CAR);
+        inspector.inspect(SELECT_CAR);
+        //When
+        AssertionFailedError error = assertThrows(AssertionFailedError.class,
+                () -> extension.afterTestExecution(context));
+        //Then
+        assertTrue(error.getMessage().startsWith(
+                "Expected at most 2 SQL statements but 3 were executed"));
+        assertTrue(error.getMessage().endsWith("2 x " + SELECT_CAR));
+    }
+
+    @MaxQueries(2)
+    private void twoQueryBudget() {
+    }
+}
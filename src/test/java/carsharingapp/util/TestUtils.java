@@ -71,7 +71,9 @@ public final class TestUtils {
                 VALID_MODEL,
                 VALID_TYPE,
                 VALID_INVENTORY,
-                VALID_DAILY_FEE
+                VALID_DAILY_FEE,
+                null,
+                null
         );
     }
 
@@ -165,7 +167,8 @@ public final class TestUtils {
                 VALID_RENTAL_DATE,
                 VALID_RETURN_DATE,
                 VALID_ID,
-                VALID_ID
+                VALID_ID,
+                null
         );
     }
 
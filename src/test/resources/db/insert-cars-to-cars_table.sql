@@ -2,4 +2,7 @@ INSERT INTO cars (id, model, brand, type, inventory, daily_fee, is_deleted)
 VALUES
     (1, 'Model S', 'Tesla', 'SEDAN', 5, 1000.00, false),
     (2, 'Camry', 'Toyota', 'SEDAN', 3, 500.00, false),
-    (3, 'X5', 'BMW', 'SUV', 2, 1500.00, false);
\ No newline at end of file
+    (3, 'X5', 'BMW', 'SUV', 2, 1500.00, false);
+UPDATE id_generators
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM cars))
+WHERE sequence_name = 'cars';
\ No newline at end of file
@@ -2,4 +2,7 @@ INSERT INTO payments (id, status, type, rental_id, session_url, session_id, amou
 VALUES
     (1, 'PAID', 'PAYMENT', 1, 'http://payment.url', '1', 10000.00),
     (2, 'PENDING', 'FINE', 2, 'http://mock.url', 'mockSessionId', 5000.00),
-    (3, 'PAID', 'PAYMENT', 3, 'http://payment.url', '2', 15000.00);
\ No newline at end of file
+    (3, 'PAID', 'PAYMENT', 3, 'http://payment.url', '2', 15000.00);
+UPDATE id_generators
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM payments))
+WHERE sequence_name = 'payments';
\ No newline at end of file
@@ -2,4 +2,7 @@ INSERT INTO rentals (id, rental_date, return_date, actual_return_date, car_id, u
 VALUES
     (1, '2024-10-01', '2025-10-10', NULL, 1, 1),
     (2, '2024-01-05', '2024-01-07', NULL, 3, 2),
-    (3, '2024-01-05', '2025-01-07', '2024-10-12', 3, 1);
\ No newline at end of file
+    (3, '2024-01-05', '2025-01-07', '2024-10-12', 3, 1);
+UPDATE id_generators
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM rentals))
+WHERE sequence_name = 'rentals';
\ No newline at end of file
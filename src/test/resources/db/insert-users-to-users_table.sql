@@ -6,4 +6,7 @@ VALUES
 insert into users_roles (user_id, role_id)
 values (1, 2),
        (2, 2),
-       (3, 1);
\ No newline at end of file
+       (3, 1);
+UPDATE id_generators
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM users))
+WHERE sequence_name = 'users';
\ No newline at end of file